@@ -28,7 +28,10 @@ import javax.sql.DataSource;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 /**
@@ -42,6 +45,17 @@ public interface WildFlyDataSource extends AutoCloseable, DataSource, Serializab
 
     void addListener(WildFlyDataSourceListener listener);
 
+    // Implementations that can not hand off connections asynchronously complete the stage on the calling thread
+    default CompletionStage<Connection> getConnectionAsync() {
+        CompletableFuture<Connection> future = new CompletableFuture<>();
+        try {
+            future.complete( getConnection() );
+        } catch ( SQLException e ) {
+            future.completeExceptionally( e );
+        }
+        return future;
+    }
+
     @Override
     void close();
 
@@ -22,6 +22,9 @@
 
 package org.wildfly.datasource.api;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
@@ -81,6 +84,53 @@ public interface WildFlyDataSourceMetrics {
         return 0;
     }
 
+    default long sqlMetadataCacheHitCount() {
+        return 0;
+    }
+
+    default long sqlMetadataCacheMissCount() {
+        return 0;
+    }
+
+    default long sqlMetadataCacheEvictionCount() {
+        return 0;
+    }
+
+    default double averageHoldTime() {
+        return 0;
+    }
+
+    default long maxHoldTime() {
+        return 0;
+    }
+
+    default long totalHoldTime() {
+        return 0;
+    }
+
+    // call sites, sampled on checkout, with the longest hold time recorded for each of them, the longest first
+    default Map<String, Long> longestHoldingSites() {
+        return Collections.emptyMap();
+    }
+
+    // --- percentiles, in milliseconds, for a percentile between 0 and 100 (e.g. 50, 99, 99.9) //
+
+    default double creationTimePercentile(double percentile) {
+        return 0;
+    }
+
+    default double blockingTimePercentile(double percentile) {
+        return 0;
+    }
+
+    default double holdTimePercentile(double percentile) {
+        return 0;
+    }
+
+    default double validationTimePercentile(double percentile) {
+        return 0;
+    }
+
     // --- //
 
     default void reset() {}
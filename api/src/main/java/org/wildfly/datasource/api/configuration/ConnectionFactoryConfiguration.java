@@ -51,6 +51,12 @@ public interface ConnectionFactoryConfiguration {
 
     Properties jdbcProperties();
 
+    // max number of prepared and callable statements kept open on each connection. 0 disables the cache.
+    int preparedStatementCacheSize();
+
+    // max number of SQL strings with metadata (nativeSQL translation, generated key columns) shared by all connections. 0 disables the cache.
+    int sqlMetadataCacheSize();
+
     // --- //
 
     enum TransactionIsolation {
@@ -49,6 +49,8 @@ public class ConnectionFactoryConfigurationBuilder implements Supplier<Connectio
     private Principal principal;
     private Collection<Object> credentials = new ArrayList<>();
     private Properties jdbcProperties = new Properties();
+    private int preparedStatementCacheSize = 0;
+    private int sqlMetadataCacheSize = 0;
 
     public ConnectionFactoryConfigurationBuilder() {
         this.lock = false;
@@ -69,6 +71,8 @@ public class ConnectionFactoryConfigurationBuilder implements Supplier<Connectio
         this.principal = existingConfiguration.principal();
         this.credentials = existingConfiguration.credentials();
         this.jdbcProperties = existingConfiguration.jdbcProperties();
+        this.preparedStatementCacheSize = existingConfiguration.preparedStatementCacheSize();
+        this.sqlMetadataCacheSize = existingConfiguration.sqlMetadataCacheSize();
     }
 
     private ConnectionFactoryConfigurationBuilder applySetting(Consumer<ConnectionFactoryConfigurationBuilder> consumer) {
@@ -129,6 +133,14 @@ public class ConnectionFactoryConfigurationBuilder implements Supplier<Connectio
         return applySetting( c -> c.jdbcProperties.put( key, value) );
     }
 
+    public ConnectionFactoryConfigurationBuilder preparedStatementCacheSize(int preparedStatementCacheSize) {
+        return applySetting( c -> c.preparedStatementCacheSize = preparedStatementCacheSize );
+    }
+
+    public ConnectionFactoryConfigurationBuilder sqlMetadataCacheSize(int sqlMetadataCacheSize) {
+        return applySetting( c -> c.sqlMetadataCacheSize = sqlMetadataCacheSize );
+    }
+
     private void validateJdbcProperty(String key) {
         if ( USERNAME_PROPERTY_NAME.equalsIgnoreCase( key ) ) {
             throw new IllegalArgumentException( "Invalid property '" + key + "': use principal instead." );
@@ -141,6 +153,12 @@ public class ConnectionFactoryConfigurationBuilder implements Supplier<Connectio
     // --- //
     
     private void validate() {
+        if ( preparedStatementCacheSize < 0 ) {
+            throw new IllegalArgumentException( "Invalid prepared statement cache size" );
+        }
+        if ( sqlMetadataCacheSize < 0 ) {
+            throw new IllegalArgumentException( "Invalid SQL metadata cache size" );
+        }
     }
 
     private ConnectionFactoryConfiguration build() {
@@ -198,6 +216,16 @@ public class ConnectionFactoryConfigurationBuilder implements Supplier<Connectio
             public Properties jdbcProperties() {
                 return jdbcProperties;
             }
+
+            @Override
+            public int preparedStatementCacheSize() {
+                return preparedStatementCacheSize;
+            }
+
+            @Override
+            public int sqlMetadataCacheSize() {
+                return sqlMetadataCacheSize;
+            }
         };
 
     }
@@ -35,10 +35,15 @@ public interface ConnectionPoolConfiguration {
 
     PreFillMode preFillMode();
 
+    // the list that holds all the connections of the integrated pool
+    ListImplementation listImplementation();
+
     ConnectionFactoryConfiguration connectionFactoryConfiguration();
 
     ConnectionValidator connectionValidator();
 
+    ExceptionSorter exceptionSorter();
+
     TransactionIntegration transactionIntegration();
 
     Duration leakTimeout();
@@ -47,6 +52,33 @@ public interface ConnectionPoolConfiguration {
 
     Duration reapTimeout();
 
+    // connections idle for longer than this are validated on acquisition
+    Duration idleValidationTimeout();
+
+    // validates the idle connections on acquisition. it should be bounded by a timeout, as the caller is blocked
+    ConnectionValidator idleValidator();
+
+    // 0 means one stripe for each available processor
+    int acquisitionStripes();
+
+    boolean fairAcquisition();
+
+    int localCacheSize();
+
+    int creationConcurrency();
+
+    // number of threads that validate connections in the background, apart from the housekeeping thread
+    int validationConcurrency();
+
+    // at most this number of background validations per second (0 means no limit)
+    int maxValidationsPerSecond();
+
+    // connections are only acquired from the pool when first used to run SQL
+    boolean lazyAcquisition();
+
+    // the connections flushed when one of them gets a fatal exception
+    FlushMode flushMode();
+
     // --- Mutable attributes
 
     int minSize();
@@ -66,7 +98,25 @@ public interface ConnectionPoolConfiguration {
     }
 
     enum PreFillMode {
-        NONE, MIN, MAX
+        NONE, MIN, MAX,
+
+        // fill to min and then create connections ahead of demand, following the acquisition rate
+        ADAPTIVE
+    }
+
+    enum ListImplementation {
+        STAMPED, ATOMIC, ATOMIC_REFERENCE, LOCK_FREE, SYNCHRONIZED, COPY_ON_WRITE
+    }
+
+    enum FlushMode {
+        // only the connection that got the exception
+        FAILING,
+
+        // the failing connection and the ones not in use
+        IDLE,
+
+        // all connections. the ones in use are destroyed when returned
+        ALL
     }
 
 }
@@ -39,13 +39,25 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
     private ConnectionPoolConfiguration.PoolImplementation poolImplementation = ConnectionPoolConfiguration.PoolImplementation.DEFAULT;
     private ConnectionFactoryConfiguration connectionFactoryConfiguration;
     private ConnectionPoolConfiguration.PreFillMode preFillMode = ConnectionPoolConfiguration.PreFillMode.NONE;
+    private ConnectionPoolConfiguration.ListImplementation listImplementation = ConnectionPoolConfiguration.ListImplementation.STAMPED;
     private TransactionIntegration transactionIntegration = TransactionIntegration.none();
     private volatile int minSize = 0;
     private volatile int maxSize = 0;
     private ConnectionValidator connectionValidator = ConnectionValidator.emptyValidator();
+    private ExceptionSorter exceptionSorter = ExceptionSorter.defaultExceptionSorter();
     private Duration leakTimeout = Duration.ZERO;
     private Duration validationTimeout = Duration.ZERO;
     private Duration reapTimeout = Duration.ZERO;
+    private Duration idleValidationTimeout = Duration.ZERO;
+    private ConnectionValidator idleValidator = ConnectionValidator.defaultValidatorWithTimeout( 5 );
+    private int acquisitionStripes = 1;
+    private boolean fairAcquisition = false;
+    private int localCacheSize = 4;
+    private int creationConcurrency = 1;
+    private int validationConcurrency = 1;
+    private int maxValidationsPerSecond = 0;
+    private boolean lazyAcquisition = false;
+    private ConnectionPoolConfiguration.FlushMode flushMode = ConnectionPoolConfiguration.FlushMode.FAILING;
     private volatile Duration acquisitionTimeout = Duration.ZERO;
 
     public ConnectionPoolConfigurationBuilder() {
@@ -60,13 +72,25 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
         this.poolImplementation = existingConfiguration.poolImplementation();
         this.connectionFactoryConfiguration = existingConfiguration.connectionFactoryConfiguration();
         this.preFillMode = existingConfiguration.preFillMode();
+        this.listImplementation = existingConfiguration.listImplementation();
         this.transactionIntegration = existingConfiguration.transactionIntegration();
         this.minSize = existingConfiguration.minSize();
         this.maxSize = existingConfiguration.maxSize();
         this.connectionValidator = existingConfiguration.connectionValidator();
+        this.exceptionSorter = existingConfiguration.exceptionSorter();
         this.leakTimeout = existingConfiguration.leakTimeout();
         this.validationTimeout = existingConfiguration.validationTimeout();
         this.reapTimeout = existingConfiguration.reapTimeout();
+        this.idleValidationTimeout = existingConfiguration.idleValidationTimeout();
+        this.idleValidator = existingConfiguration.idleValidator();
+        this.acquisitionStripes = existingConfiguration.acquisitionStripes();
+        this.fairAcquisition = existingConfiguration.fairAcquisition();
+        this.localCacheSize = existingConfiguration.localCacheSize();
+        this.creationConcurrency = existingConfiguration.creationConcurrency();
+        this.validationConcurrency = existingConfiguration.validationConcurrency();
+        this.maxValidationsPerSecond = existingConfiguration.maxValidationsPerSecond();
+        this.lazyAcquisition = existingConfiguration.lazyAcquisition();
+        this.flushMode = existingConfiguration.flushMode();
         this.acquisitionTimeout = existingConfiguration.acquisitionTimeout();
     }
 
@@ -105,6 +129,10 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
         return applySetting( c -> c.preFillMode = preFillMode );
     }
 
+    public ConnectionPoolConfigurationBuilder listImplementation(ConnectionPoolConfiguration.ListImplementation listImplementation) {
+        return applySetting( c -> c.listImplementation = listImplementation );
+    }
+
     public ConnectionPoolConfigurationBuilder minSize(int minSize) {
         return applySetting( c -> c.minSize = minSize );
     }
@@ -121,6 +149,10 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
         return applySetting( c -> c.connectionValidator = connectionValidator );
     }
 
+    public ConnectionPoolConfigurationBuilder exceptionSorter(ExceptionSorter exceptionSorter) {
+        return applySetting( c -> c.exceptionSorter = exceptionSorter );
+    }
+
     public ConnectionPoolConfigurationBuilder leakTimeout(Duration leakTimeout) {
         return applySetting( c -> c.leakTimeout = leakTimeout );
     }
@@ -133,6 +165,46 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
         return applySetting( c -> c.reapTimeout = reapTimeout );
     }
 
+    public ConnectionPoolConfigurationBuilder idleValidationTimeout(Duration idleValidationTimeout) {
+        return applySetting( c -> c.idleValidationTimeout = idleValidationTimeout );
+    }
+
+    public ConnectionPoolConfigurationBuilder idleValidator(ConnectionValidator idleValidator) {
+        return applySetting( c -> c.idleValidator = idleValidator );
+    }
+
+    public ConnectionPoolConfigurationBuilder acquisitionStripes(int acquisitionStripes) {
+        return applySetting( c -> c.acquisitionStripes = acquisitionStripes );
+    }
+
+    public ConnectionPoolConfigurationBuilder fairAcquisition(boolean fairAcquisition) {
+        return applySetting( c -> c.fairAcquisition = fairAcquisition );
+    }
+
+    public ConnectionPoolConfigurationBuilder localCacheSize(int localCacheSize) {
+        return applySetting( c -> c.localCacheSize = localCacheSize );
+    }
+
+    public ConnectionPoolConfigurationBuilder creationConcurrency(int creationConcurrency) {
+        return applySetting( c -> c.creationConcurrency = creationConcurrency );
+    }
+
+    public ConnectionPoolConfigurationBuilder validationConcurrency(int validationConcurrency) {
+        return applySetting( c -> c.validationConcurrency = validationConcurrency );
+    }
+
+    public ConnectionPoolConfigurationBuilder maxValidationsPerSecond(int maxValidationsPerSecond) {
+        return applySetting( c -> c.maxValidationsPerSecond = maxValidationsPerSecond );
+    }
+
+    public ConnectionPoolConfigurationBuilder lazyAcquisition(boolean lazyAcquisition) {
+        return applySetting( c -> c.lazyAcquisition = lazyAcquisition );
+    }
+
+    public ConnectionPoolConfigurationBuilder flushMode(ConnectionPoolConfiguration.FlushMode flushMode) {
+        return applySetting( c -> c.flushMode = flushMode );
+    }
+
     private void validate() {
         if ( minSize < 0 ) {
             throw new IllegalArgumentException( "Invalid min size" );
@@ -140,6 +212,21 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
         if ( minSize > maxSize ) {
             throw new IllegalArgumentException( "Wrong size of min / max size" );
         }
+        if ( acquisitionStripes < 0 ) {
+            throw new IllegalArgumentException( "Invalid number of acquisition stripes" );
+        }
+        if ( localCacheSize < 0 ) {
+            throw new IllegalArgumentException( "Invalid local cache size" );
+        }
+        if ( creationConcurrency < 1 ) {
+            throw new IllegalArgumentException( "Invalid connection creation concurrency" );
+        }
+        if ( validationConcurrency < 1 ) {
+            throw new IllegalArgumentException( "Invalid connection validation concurrency" );
+        }
+        if ( maxValidationsPerSecond < 0 ) {
+            throw new IllegalArgumentException( "Invalid max number of validations per second" );
+        }
         if ( connectionFactoryConfiguration == null ) {
             throw new IllegalArgumentException( "Connection factory configuration not defined" );
         }
@@ -171,6 +258,11 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
                 return preFillMode;
             }
 
+            @Override
+            public ListImplementation listImplementation() {
+                return listImplementation;
+            }
+
             @Override
             public int minSize() {
                 return minSize;
@@ -206,6 +298,11 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
                 return connectionValidator;
             }
 
+            @Override
+            public ExceptionSorter exceptionSorter() {
+                return exceptionSorter;
+            }
+
             @Override
             public Duration leakTimeout() {
                 return leakTimeout;
@@ -220,6 +317,56 @@ public class ConnectionPoolConfigurationBuilder implements Supplier<ConnectionPo
             public Duration reapTimeout() {
                 return reapTimeout;
             }
+
+            @Override
+            public Duration idleValidationTimeout() {
+                return idleValidationTimeout;
+            }
+
+            @Override
+            public ConnectionValidator idleValidator() {
+                return idleValidator;
+            }
+
+            @Override
+            public int acquisitionStripes() {
+                return acquisitionStripes;
+            }
+
+            @Override
+            public boolean fairAcquisition() {
+                return fairAcquisition;
+            }
+
+            @Override
+            public int localCacheSize() {
+                return localCacheSize;
+            }
+
+            @Override
+            public int creationConcurrency() {
+                return creationConcurrency;
+            }
+
+            @Override
+            public int validationConcurrency() {
+                return validationConcurrency;
+            }
+
+            @Override
+            public int maxValidationsPerSecond() {
+                return maxValidationsPerSecond;
+            }
+
+            @Override
+            public boolean lazyAcquisition() {
+                return lazyAcquisition;
+            }
+
+            @Override
+            public FlushMode flushMode() {
+                return flushMode;
+            }
         };
     }
 }
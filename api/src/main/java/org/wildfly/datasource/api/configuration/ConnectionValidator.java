@@ -34,9 +34,14 @@ public interface ConnectionValidator {
     // --- //
 
     static ConnectionValidator defaultValidator() {
+        return defaultValidatorWithTimeout( 0 );
+    }
+
+    // the timeout, in seconds, bounds the time a validation can block on an unresponsive network
+    static ConnectionValidator defaultValidatorWithTimeout(int timeout) {
         return connection -> {
             try {
-                return connection.isValid( 0 );
+                return connection.isValid( timeout );
             } catch ( Throwable t ) {
                 return false;
             }
@@ -41,6 +41,9 @@ public interface DataSourceConfiguration {
 
     void setMetricsEnabled(boolean metricsEnabled);
 
+    // one in every callSiteSampling checkouts records the call site, for the longest holding sites metric. 0 disables sampling.
+    int callSiteSampling();
+
     // TODO: Registration a listener for changes ?!?! --- probably needed in the near future
 
     // --- //
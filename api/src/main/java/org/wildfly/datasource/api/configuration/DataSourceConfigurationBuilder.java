@@ -39,6 +39,7 @@ public class DataSourceConfigurationBuilder implements Supplier<DataSourceConfig
     private boolean isXA;
 
     private volatile boolean metricsEnabled = false;
+    private int callSiteSampling = 0;
 
     public DataSourceConfigurationBuilder() {
         this.lock = false;
@@ -83,12 +84,19 @@ public class DataSourceConfigurationBuilder implements Supplier<DataSourceConfig
         return applySetting( c -> c.metricsEnabled = metricsEnabled );
     }
 
+    public DataSourceConfigurationBuilder callSiteSampling(int callSiteSampling) {
+        return applySetting( c -> c.callSiteSampling = callSiteSampling );
+    }
+
     // --- //
 
     private void validate() {
         if ( connectionPoolConfiguration == null ) {
             throw new IllegalArgumentException( "Connection poll configuration not defined" );
         }
+        if ( callSiteSampling < 0 ) {
+            throw new IllegalArgumentException( "Invalid call site sampling" );
+        }
     }
 
     private DataSourceConfiguration build() {
@@ -126,6 +134,11 @@ public class DataSourceConfigurationBuilder implements Supplier<DataSourceConfig
             public void setMetricsEnabled(boolean metrics) {
                 metricsEnabled = metrics;
             }
+
+            @Override
+            public int callSiteSampling() {
+                return callSiteSampling;
+            }
         };
     }
 }
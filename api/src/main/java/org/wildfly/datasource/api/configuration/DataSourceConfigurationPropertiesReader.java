@@ -44,6 +44,7 @@ public class DataSourceConfigurationPropertiesReader implements Supplier<DataSou
     public static final String JNDI_NAME = "jndiName";
     public static final String METRICS_ENABLED = "metricsEnabled";
     public static final String XA = "xa";
+    public static final String CALL_SITE_SAMPLING = "callSiteSampling";
 
     // --- //
 
@@ -54,6 +55,16 @@ public class DataSourceConfigurationPropertiesReader implements Supplier<DataSou
     public static final String VALIDATION_TIMEOUT = "validationTimeout";
     public static final String LEAK_TIMEOUT = "leakTimeout";
     public static final String REAP_TIMEOUT = "reapTimeout";
+    public static final String IDLE_VALIDATION_TIMEOUT = "idleValidationTimeout";
+    public static final String ACQUISITION_STRIPES = "acquisitionStripes";
+    public static final String FAIR_ACQUISITION = "fairAcquisition";
+    public static final String LOCAL_CACHE_SIZE = "localCacheSize";
+    public static final String CREATION_CONCURRENCY = "creationConcurrency";
+    public static final String VALIDATION_CONCURRENCY = "validationConcurrency";
+    public static final String MAX_VALIDATIONS_PER_SECOND = "maxValidationsPerSecond";
+    public static final String LAZY_ACQUISITION = "lazyAcquisition";
+    public static final String FLUSH_MODE = "flushMode";
+    public static final String LIST_IMPLEMENTATION = "listImplementation";
 
     // --- //
 
@@ -64,6 +75,8 @@ public class DataSourceConfigurationPropertiesReader implements Supplier<DataSou
     public static final String PRINCIPAL = "principal";
     public static final String CREDENTIAL = "credential";
     public static final String JDBC_PROPERTIES = "jdbcProperties";
+    public static final String PREPARED_STATEMENT_CACHE_SIZE = "preparedStatementCacheSize";
+    public static final String SQL_METADATA_CACHE_SIZE = "sqlMetadataCacheSize";
 
     // --- //
 
@@ -99,6 +112,7 @@ public class DataSourceConfigurationPropertiesReader implements Supplier<DataSou
         apply( dataSourceBuilder::jndiName, Function.identity(), properties, JNDI_NAME );
         apply( dataSourceBuilder::metricsEnabled, Boolean::parseBoolean, properties, METRICS_ENABLED );
         apply( dataSourceBuilder::xa, Boolean::parseBoolean, properties, XA );
+        apply( dataSourceBuilder::callSiteSampling, Integer::parseInt, properties, CALL_SITE_SAMPLING );
 
         apply( connectionPoolBuilder::minSize, Integer::parseInt, properties, MIN_SIZE );
         apply( connectionPoolBuilder::maxSize, Integer::parseInt, properties, MAX_SIZE );
@@ -107,6 +121,16 @@ public class DataSourceConfigurationPropertiesReader implements Supplier<DataSou
         apply( connectionPoolBuilder::validationTimeout, Duration::parse, properties, VALIDATION_TIMEOUT );
         apply( connectionPoolBuilder::leakTimeout, Duration::parse, properties, LEAK_TIMEOUT );
         apply( connectionPoolBuilder::reapTimeout, Duration::parse, properties, REAP_TIMEOUT );
+        apply( connectionPoolBuilder::idleValidationTimeout, Duration::parse, properties, IDLE_VALIDATION_TIMEOUT );
+        apply( connectionPoolBuilder::acquisitionStripes, Integer::parseInt, properties, ACQUISITION_STRIPES );
+        apply( connectionPoolBuilder::fairAcquisition, Boolean::parseBoolean, properties, FAIR_ACQUISITION );
+        apply( connectionPoolBuilder::localCacheSize, Integer::parseInt, properties, LOCAL_CACHE_SIZE );
+        apply( connectionPoolBuilder::creationConcurrency, Integer::parseInt, properties, CREATION_CONCURRENCY );
+        apply( connectionPoolBuilder::validationConcurrency, Integer::parseInt, properties, VALIDATION_CONCURRENCY );
+        apply( connectionPoolBuilder::maxValidationsPerSecond, Integer::parseInt, properties, MAX_VALIDATIONS_PER_SECOND );
+        apply( connectionPoolBuilder::lazyAcquisition, Boolean::parseBoolean, properties, LAZY_ACQUISITION );
+        apply( connectionPoolBuilder::flushMode, ConnectionPoolConfiguration.FlushMode::valueOf, properties, FLUSH_MODE );
+        apply( connectionPoolBuilder::listImplementation, ConnectionPoolConfiguration.ListImplementation::valueOf, properties, LIST_IMPLEMENTATION );
 
         apply( connectionFactoryBuilder::jdbcUrl, Function.identity(), properties, JDBC_URL );
         apply( connectionFactoryBuilder::autoCommit, Boolean::parseBoolean, properties, AUTO_COMMIT );
@@ -114,6 +138,8 @@ public class DataSourceConfigurationPropertiesReader implements Supplier<DataSou
         apply( connectionFactoryBuilder::driverClassName, Function.identity(), properties, DRIVER_CLASS_NAME );
         apply( connectionFactoryBuilder::principal, NamePrincipal::new, properties, PRINCIPAL );
         apply( connectionFactoryBuilder::credential, SimplePassword::new, properties, CREDENTIAL );
+        apply( connectionFactoryBuilder::preparedStatementCacheSize, Integer::parseInt, properties, PREPARED_STATEMENT_CACHE_SIZE );
+        apply( connectionFactoryBuilder::sqlMetadataCacheSize, Integer::parseInt, properties, SQL_METADATA_CACHE_SIZE );
         applyJdbcProperties( connectionFactoryBuilder::jdbcProperty, properties, JDBC_PROPERTIES );
         return this;
     }
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.api.configuration;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+
+/**
+ * Decides if an exception means that the connection it was thrown by is broken, and should not be used again.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public interface ExceptionSorter {
+
+    boolean isFatal(SQLException exception);
+
+    // --- //
+
+    /**
+     * Connection exceptions, either by type or by SQLState class 08.
+     */
+    static ExceptionSorter defaultExceptionSorter() {
+        return exception -> exception instanceof SQLNonTransientConnectionException || exception instanceof SQLRecoverableException || hasSqlState( exception, "08" );
+    }
+
+    static ExceptionSorter emptyExceptionSorter() {
+        return exception -> false;
+    }
+
+    static ExceptionSorter h2ExceptionSorter() {
+        // IO_EXCEPTION_1, IO_EXCEPTION_2, CONNECTION_BROKEN_1, DATABASE_IS_CLOSED, DATABASE_CALLED_AT_SHUTDOWN
+        return or( defaultExceptionSorter(), hasErrorCode( 90028, 90031, 90067, 90098, 90121 ) );
+    }
+
+    static ExceptionSorter postgreSQLExceptionSorter() {
+        // class 57P is operator intervention: admin_shutdown, crash_shutdown, cannot_connect_now and database_dropped
+        return or( defaultExceptionSorter(), exception -> hasSqlState( exception, "57P" ) );
+    }
+
+    static ExceptionSorter mySQLExceptionSorter() {
+        // bad host, handshake, unknown command, server shutdown, socket and network errors
+        // too many connections (1040, SQLState 08004) only refuses a new connection, the established ones are fine
+        ExceptionSorter fatal = or( defaultExceptionSorter(), hasErrorCode( 1042, 1043, 1047, 1053, 1077, 1078, 1079, 1080, 1081, 1129, 1130, 1152, 1154, 1155, 1156, 1157, 1158, 1159, 1160, 1161 ) );
+        return exception -> exception.getErrorCode() != 1040 && fatal.isFatal( exception );
+    }
+
+    static ExceptionSorter oracleExceptionSorter() {
+        // ORA- errors for killed sessions, internal errors, shutdown and lost communication. TNS- errors for the listener and the network
+        return or( defaultExceptionSorter(), hasErrorCode( 28, 600, 1012, 1014, 1033, 1034, 1035, 1089, 1090, 1092, 3113, 3114, 12153, 12537, 12547, 12571, 17002, 17008, 17410, 17447 ) );
+    }
+
+    // --- //
+
+    static ExceptionSorter or(ExceptionSorter first, ExceptionSorter second) {
+        return exception -> first.isFatal( exception ) || second.isFatal( exception );
+    }
+
+    static ExceptionSorter hasErrorCode(int... errorCodes) {
+        return exception -> {
+            for ( int errorCode : errorCodes ) {
+                if ( exception.getErrorCode() == errorCode ) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    static boolean hasSqlState(SQLException exception, String prefix) {
+        return exception.getSQLState() != null && exception.getSQLState().startsWith( prefix );
+    }
+
+}
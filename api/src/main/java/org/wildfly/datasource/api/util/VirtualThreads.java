@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.api.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Detection of virtual threads that still works on runtimes that predate them.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private VirtualThreads() {
+    }
+
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual( Thread.class, "isVirtual", MethodType.methodType( boolean.class ) );
+        } catch ( NoSuchMethodException | IllegalAccessException e ) {
+            return null;
+        }
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        if ( IS_VIRTUAL == null ) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact( thread );
+        } catch ( Throwable t ) {
+            return false;
+        }
+    }
+}
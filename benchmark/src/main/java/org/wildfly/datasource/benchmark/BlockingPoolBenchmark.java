@@ -117,7 +117,10 @@ public class BlockingPoolBenchmark {
         } catch (Exception ignored) {}
     }
 
-    public static void main(String[] args) throws RunnerException {
+    /**
+     * Run with argument "profile" and optionally an output directory to record contention. See {@link ContentionProfiling}.
+     */
+    public static void main(String[] args) throws RunnerException, NoSuchFieldException {
         int[] threadNumbers = new int[] { 5, 10, 20, 50, 100, 200 };
 
         Options baseOptions = new OptionsBuilder()
@@ -128,13 +131,20 @@ public class BlockingPoolBenchmark {
 
         Collection<RunResult> results = new ArrayList<>();
 
-        // This is a trick to use 'threadNumber' as a benchmark parameter
-        for (int threadNumber : threadNumbers) {
-            Options actualOptions = new OptionsBuilder().parent( baseOptions ).
-                    threads( threadNumber )
-                    .param( "threads", Integer.toString( threadNumber ) ).build();
-
-            results.addAll( new Runner( actualOptions ).run() );
+        if ( args.length > 0 && "profile".equals( args[0] ) ) {
+            ContentionProfiling profiling = new ContentionProfiling( baseOptions, BlockingPoolBenchmark.class, "poolClassName", args.length > 1 ? args[1] : "profile" );
+            for ( int threadNumber : threadNumbers ) {
+                results.addAll( profiling.run( threadNumber ) );
+            }
+        } else {
+            // This is a trick to use 'threadNumber' as a benchmark parameter
+            for (int threadNumber : threadNumbers) {
+                Options actualOptions = new OptionsBuilder().parent( baseOptions ).
+                        threads( threadNumber )
+                        .param( "threads", Integer.toString( threadNumber ) ).build();
+
+                results.addAll( new Runner( actualOptions ).run() );
+            }
         }
 
         System.out.println("\n\n\n");
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2014, Oracle America, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of Oracle nor the names of its contributors may be used
+ *    to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+ * THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.wildfly.datasource.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.HotspotThreadProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs a benchmark with a Flight Recorder recording for each fork, holding every lock contention, thread park and
+ * allocation event, however short. The GC and thread profilers of JMH are added to the results, saved as JSON for each
+ * number of threads. When the system property {@code asyncProfiler} points to the async-profiler library, lock
+ * contention is also sampled by it.
+ *
+ * Each value of the benchmark parameter is run on its own, so that the recording of each fork can be told apart.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class ContentionProfiling {
+
+    public static final String ASYNC_PROFILER_PROPERTY = "asyncProfiler";
+
+    // the "profile" settings of the JDK leave out monitor and park events shorter than 10 ms
+    private static final String SETTINGS_RESOURCE = "contention.jfc";
+
+    private final Options baseOptions;
+    private final String parameter;
+    private final String[] values;
+    private final File outputDirectory;
+
+    public ContentionProfiling(Options baseOptions, Class<?> benchmarkClass, String parameter, String outputDirectory) throws NoSuchFieldException {
+        this.baseOptions = baseOptions;
+        this.parameter = parameter;
+        this.values = benchmarkClass.getField( parameter ).getAnnotation( Param.class ).value();
+        this.outputDirectory = new File( outputDirectory );
+    }
+
+    public Collection<RunResult> run(int threadNumber) throws RunnerException {
+        if ( !outputDirectory.isDirectory() && !outputDirectory.mkdirs() ) {
+            throw new RunnerException( "Unable to create directory " + outputDirectory );
+        }
+        File settings = new File( outputDirectory, SETTINGS_RESOURCE );
+        try ( InputStream in = ContentionProfiling.class.getResourceAsStream( SETTINGS_RESOURCE ) ) {
+            Files.copy( in, settings.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        } catch ( IOException e ) {
+            throw new RunnerException( "Unable to write recording settings to " + settings, e );
+        }
+
+        Collection<RunResult> results = new ArrayList<>();
+        for ( String value : values ) {
+            String runName = threadNumber + "-" + value.substring( value.lastIndexOf( '.' ) + 1 );
+
+            ChainedOptionsBuilder options = new OptionsBuilder().parent( baseOptions )
+                    .threads( threadNumber )
+                    .param( "threads", Integer.toString( threadNumber ) )
+                    .param( parameter, value )
+                    .addProfiler( GCProfiler.class )
+                    .addProfiler( HotspotThreadProfiler.class )
+                    .jvmArgsAppend( recordingArgs( runName, settings ) );
+
+            results.addAll( new Runner( options.build() ).run() );
+        }
+
+        File resultFile = new File( outputDirectory, "threads-" + threadNumber + ".json" );
+        try ( PrintStream out = new PrintStream( resultFile ) ) {
+            ResultFormatFactory.getInstance( ResultFormatType.JSON, out ).writeOut( results );
+        } catch ( FileNotFoundException e ) {
+            throw new RunnerException( "Unable to write results to " + resultFile, e );
+        }
+        return results;
+    }
+
+    private String[] recordingArgs(String runName, File settings) {
+        List<String> args = new ArrayList<>();
+
+        // Flight Recorder is a commercial feature before Java 11
+        if ( System.getProperty( "java.specification.version" ).startsWith( "1." ) ) {
+            args.add( "-XX:+UnlockCommercialFeatures" );
+            args.add( "-XX:+FlightRecorder" );
+        }
+        // dumped when the fork exits, as the recording has no duration
+        args.add( "-XX:StartFlightRecording=settings=" + settings.getAbsolutePath() + ",dumponexit=true,filename=" + new File( outputDirectory, runName + ".jfr" ).getAbsolutePath() );
+
+        String asyncProfiler = System.getProperty( ASYNC_PROFILER_PROPERTY );
+        if ( asyncProfiler != null ) {
+            args.add( "-agentpath:" + asyncProfiler + "=start,event=lock,collapsed,file=" + new File( outputDirectory, runName + "-lock.txt" ).getAbsolutePath() );
+        }
+        return args.toArray( new String[args.size()] );
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2014, Oracle America, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of Oracle nor the names of its contributors may be used
+ *    to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+ * THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.wildfly.datasource.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.wildfly.datasource.integrated.util.ExposedList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput of getUnderlyingArray() on the lists of integrated.util, while other threads add and remove elements.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+@State(Scope.Group)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class CopyOnWriteListBenchmark {
+
+    private static final int LIST_SIZE = 50;
+
+    private ExposedList<Object> list;
+
+    @Param( {
+            "org.wildfly.datasource.integrated.util.AtomicCopyOnWriteArrayList",
+            "org.wildfly.datasource.integrated.util.AtomicReferenceCopyOnWriteArrayList",
+            "org.wildfly.datasource.integrated.util.LockFreeCopyOnWriteArrayList",
+            "org.wildfly.datasource.integrated.util.SynchronizedCopyOnWriteArrayList",
+            "org.wildfly.datasource.integrated.util.StampedCopyOnWriteArrayList",
+            "org.wildfly.datasource.integrated.util.ExposedCopyOnWriteArrayList"
+    } )
+    public String listClassName;
+
+    @Param( "1:1" ) // to show the number of reader and writer threads on the report
+    public String threads;
+
+    @Setup
+    @SuppressWarnings( "unchecked" )
+    public void benchmarkSetup() throws ReflectiveOperationException {
+        Class<?> listClass = CopyOnWriteListBenchmark.class.getClassLoader().loadClass( listClassName );
+        list = (ExposedList<Object>) listClass.getConstructor( Class.class ).newInstance( Object.class );
+        for ( int i = 0; i < LIST_SIZE; i++ ) {
+            list.add( new Object() );
+        }
+    }
+
+    @Benchmark
+    @Group( "churn" )
+    @GroupThreads( 1 )
+    @BenchmarkMode( Mode.Throughput )
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void read(Blackhole blackhole) {
+        // The pool scans the whole array on acquisition
+        for ( Object element : list.getUnderlyingArray() ) {
+            blackhole.consume( element );
+        }
+    }
+
+    @Benchmark
+    @Group( "churn" )
+    @GroupThreads( 1 )
+    @BenchmarkMode( Mode.Throughput )
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void write() {
+        // The size of the list does not change between iterations
+        Object element = new Object();
+        list.add( element );
+        list.remove( element );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // readers and writers of each run. connections are added and removed far less often than they are acquired
+        int[][] threadGroups = new int[][] { { 1, 1 }, { 8, 1 }, { 32, 1 }, { 32, 4 } };
+
+        Options baseOptions = new OptionsBuilder()
+                .include( CopyOnWriteListBenchmark.class.getSimpleName() )
+                .verbosity( VerboseMode.NORMAL )
+                .forks( 1 )
+                .build();
+
+        Collection<RunResult> results = new ArrayList<>();
+
+        // This is a trick to use the thread groups as a benchmark parameter
+        for ( int[] threadGroup : threadGroups ) {
+            Options actualOptions = new OptionsBuilder().parent( baseOptions )
+                    .threadGroups( threadGroup )
+                    .param( "threads", threadGroup[0] + ":" + threadGroup[1] ).build();
+
+            results.addAll( new Runner( actualOptions ).run() );
+        }
+
+        System.out.println( "\n\n\n" );
+        ResultFormatFactory.getInstance( ResultFormatType.TEXT, System.out ).writeOut( results );
+    }
+
+}
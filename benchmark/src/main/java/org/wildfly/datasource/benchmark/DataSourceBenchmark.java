@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2014, Oracle America, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of Oracle nor the names of its contributors may be used
+ *    to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+ * THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.wildfly.datasource.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.WildFlyDataSourceListener;
+import org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration;
+import org.wildfly.datasource.api.configuration.DataSourceConfiguration;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+import org.wildfly.datasource.benchmark.stub.StubDriver;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full getConnection() / close() cycles through each of the WildFlyDataSource implementations.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class DataSourceBenchmark {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:benchmark";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    // no latency, so that only the overhead of the pool is measured
+    private static final String STUB_JDBC_URL = StubDriver.URL_PREFIX;
+    private static final String STUB_DRIVER_CLASS = StubDriver.class.getName();
+
+    private WildFlyDataSource dataSource;
+
+    @Param( { "WILDFLY", "INTEGRATED", "HIKARI" } )
+    public String implementation;
+
+    @Param( { "stub", "h2" } )
+    public String database;
+
+    // smaller and larger than most of the thread counts
+    @Param( { "10", "100" } )
+    public String poolSize;
+
+    @Param( { "false", "true" } )
+    public String metrics;
+
+    @Param( { "false", "true" } )
+    public String listener;
+
+    @Param( "1" ) // to show the number of threads on the report
+    public String threads;
+
+    @Setup
+    public void benchmarkSetup() throws SQLException {
+        int size = Integer.parseInt( poolSize );
+        boolean stub = "stub".equals( database );
+
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( DataSourceConfiguration.DataSourceImplementation.valueOf( implementation ) )
+                .metricsEnabled( Boolean.parseBoolean( metrics ) )
+                .connectionPoolConfiguration( cp -> cp
+                        .minSize( size )
+                        .maxSize( size )
+                        .preFillMode( ConnectionPoolConfiguration.PreFillMode.MAX )
+                        .validationTimeout( Duration.ofMinutes( 1 ) )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( stub ? STUB_DRIVER_CLASS : H2_DRIVER_CLASS )
+                                .jdbcUrl( stub ? STUB_JDBC_URL : H2_JDBC_URL )
+                        )
+                );
+
+        dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder );
+        if ( Boolean.parseBoolean( listener ) ) {
+            dataSource.addListener( new WildFlyDataSourceListener() {
+            } );
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkMain(Blackhole blackhole) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        blackhole.consume( connection );
+
+        Blackhole.consumeCPU( 1000 );
+
+        connection.close();
+    }
+
+    @TearDown
+    public void benchmarkTearDown() {
+        dataSource.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int[] threadNumbers = new int[] { 5, 20, 50, 200 };
+
+        Options baseOptions = new OptionsBuilder()
+                .include( DataSourceBenchmark.class.getSimpleName() )
+                .verbosity( VerboseMode.NORMAL )
+                .forks( 1 )
+                .build();
+
+        Collection<RunResult> results = new ArrayList<>();
+
+        // This is a trick to use 'threadNumber' as a benchmark parameter
+        for ( int threadNumber : threadNumbers ) {
+            Options actualOptions = new OptionsBuilder().parent( baseOptions )
+                    .threads( threadNumber )
+                    .param( "threads", Integer.toString( threadNumber ) ).build();
+
+            results.addAll( new Runner( actualOptions ).run() );
+        }
+
+        System.out.println( "\n\n\n" );
+        ResultFormatFactory.getInstance( ResultFormatType.TEXT, System.out ).writeOut( results );
+    }
+
+}
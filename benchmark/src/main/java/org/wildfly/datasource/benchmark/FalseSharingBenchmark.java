@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2014, Oracle America, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of Oracle nor the names of its contributors may be used
+ *    to endorse or promote products derived from this software without
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+ * THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.wildfly.datasource.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.wildfly.datasource.integrated.ConnectionHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Each thread acquires and returns a connection handler of its own, while reading the state of the next one as the
+ * pool does when looking for a connection. Handlers are allocated back to back, so with the unpadded layout the writes
+ * of one thread invalidate the cache line its neighbours read.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class FalseSharingBenchmark {
+
+    // more than the maximum number of threads
+    private static final int HANDLERS = 256;
+
+    @State(Scope.Benchmark)
+    public static class Handlers {
+
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        private ConnectionHandler[] padded;
+        private UnpaddedHandler[] unpadded;
+
+        @Param( "1" ) // to show the number of threads on the report
+        public String threads;
+
+        @Setup
+        public void benchmarkSetup() {
+            padded = new ConnectionHandler[HANDLERS];
+            unpadded = new UnpaddedHandler[HANDLERS];
+            for ( int i = 0; i < HANDLERS; i++ ) {
+                padded[i] = new ConnectionHandler( null );
+                padded[i].setState( ConnectionHandler.State.CHECKED_IN );
+            }
+            for ( int i = 0; i < HANDLERS; i++ ) {
+                unpadded[i] = new UnpaddedHandler();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadHandlers {
+
+        private ConnectionHandler padded, paddedNeighbour;
+        private UnpaddedHandler unpadded, unpaddedNeighbour;
+        private long counter;
+
+        @Setup
+        public void threadSetup(Handlers handlers) {
+            int index = handlers.nextIndex.getAndIncrement() % ( HANDLERS - 1 );
+            padded = handlers.padded[index];
+            paddedNeighbour = handlers.padded[index + 1];
+            unpadded = handlers.unpadded[index];
+            unpaddedNeighbour = handlers.unpadded[index + 1];
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode( Mode.AverageTime )
+    public boolean padded(ThreadHandlers handlers) {
+        ConnectionHandler handler = handlers.padded;
+        boolean neighbourAvailable = handlers.paddedNeighbour.getState() == ConnectionHandler.State.CHECKED_IN;
+
+        handler.setState( ConnectionHandler.State.CHECKED_IN, ConnectionHandler.State.CHECKED_OUT );
+        handler.setHoldingThread( Thread.currentThread() );
+        handler.setLastAccess( handlers.counter++ );
+        handler.setHoldingThread( null );
+        handler.setState( ConnectionHandler.State.CHECKED_OUT, ConnectionHandler.State.CHECKED_IN );
+
+        return neighbourAvailable;
+    }
+
+    @Benchmark
+    @BenchmarkMode( Mode.AverageTime )
+    public boolean unpadded(ThreadHandlers handlers) {
+        UnpaddedHandler handler = handlers.unpadded;
+        boolean neighbourAvailable = handlers.unpaddedNeighbour.getState() == ConnectionHandler.State.CHECKED_IN;
+
+        handler.setState( ConnectionHandler.State.CHECKED_IN, ConnectionHandler.State.CHECKED_OUT );
+        handler.setHoldingThread( Thread.currentThread() );
+        handler.setLastAccess( handlers.counter++ );
+        handler.setHoldingThread( null );
+        handler.setState( ConnectionHandler.State.CHECKED_OUT, ConnectionHandler.State.CHECKED_IN );
+
+        return neighbourAvailable;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int[] threadNumbers = new int[] { 1, 2, 4, 8, 16 };
+
+        Options baseOptions = new OptionsBuilder()
+                .include( FalseSharingBenchmark.class.getSimpleName() )
+                .verbosity( VerboseMode.NORMAL )
+                .forks( 1 )
+                .build();
+
+        Collection<RunResult> results = new ArrayList<>();
+
+        // This is a trick to use 'threadNumber' as a benchmark parameter
+        for ( int threadNumber : threadNumbers ) {
+            Options actualOptions = new OptionsBuilder().parent( baseOptions )
+                    .threads( threadNumber )
+                    .param( "threads", Integer.toString( threadNumber ) ).build();
+
+            results.addAll( new Runner( actualOptions ).run() );
+        }
+
+        System.out.println( "\n\n\n" );
+        ResultFormatFactory.getInstance( ResultFormatType.TEXT, System.out ).writeOut( results );
+    }
+
+    // --- //
+
+    /**
+     * The fields of ConnectionHandler that are written on acquisition and return, laid out as they were before padding.
+     */
+    private static class UnpaddedHandler {
+
+        private static final AtomicReferenceFieldUpdater<UnpaddedHandler, ConnectionHandler.State> stateUpdater = AtomicReferenceFieldUpdater.newUpdater( UnpaddedHandler.class, ConnectionHandler.State.class, "state" );
+
+        private volatile ConnectionHandler.State state = ConnectionHandler.State.CHECKED_IN;
+
+        private Thread holdingThread;
+
+        private long lastAccess;
+
+        private boolean setState(ConnectionHandler.State expected, ConnectionHandler.State newState) {
+            return stateUpdater.compareAndSet( this, expected, newState );
+        }
+
+        private ConnectionHandler.State getState() {
+            return state;
+        }
+
+        private void setHoldingThread(Thread holdingThread) {
+            this.holdingThread = holdingThread;
+        }
+
+        private void setLastAccess(long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+    }
+}
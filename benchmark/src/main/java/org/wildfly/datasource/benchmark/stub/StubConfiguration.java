@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.benchmark.stub;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Behaviour of the stub driver, parsed from the options on the URL. Latencies are in nanoseconds. Failures are injected
+ * deterministically, on every Nth operation of each kind, with zero meaning never.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class StubConfiguration {
+
+    public static final String CONNECT_LATENCY = "connectLatency";
+    public static final String VALID_LATENCY = "validLatency";
+    public static final String QUERY_LATENCY = "queryLatency";
+    public static final String CONNECT_FAILURE = "connectFailure";
+    public static final String VALID_FAILURE = "validFailure";
+    public static final String QUERY_FAILURE = "queryFailure";
+
+    // shorter latencies are spun, as parking is not precise enough for them
+    private static final long PARK_THRESHOLD_NS = 100_000;
+
+    private long connectLatency, validLatency, queryLatency;
+    private long connectFailure, validFailure, queryFailure;
+
+    // only updated when failure injection is enabled
+    private final AtomicLong connectCount = new AtomicLong(), validCount = new AtomicLong(), queryCount = new AtomicLong();
+
+    public StubConfiguration(String options) {
+        for ( String option : options.split( ";" ) ) {
+            if ( option.isEmpty() ) {
+                continue;
+            }
+            int separator = option.indexOf( '=' );
+            if ( separator < 0 ) {
+                throw new IllegalArgumentException( "Invalid stub driver option " + option );
+            }
+            String key = option.substring( 0, separator ).trim();
+            long value = Long.parseLong( option.substring( separator + 1 ).trim() );
+            switch ( key ) {
+                case CONNECT_LATENCY:
+                    connectLatency = value;
+                    break;
+                case VALID_LATENCY:
+                    validLatency = value;
+                    break;
+                case QUERY_LATENCY:
+                    queryLatency = value;
+                    break;
+                case CONNECT_FAILURE:
+                    connectFailure = value;
+                    break;
+                case VALID_FAILURE:
+                    validFailure = value;
+                    break;
+                case QUERY_FAILURE:
+                    queryFailure = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException( "Unknown stub driver option " + key );
+            }
+        }
+    }
+
+    // --- //
+
+    void connect() throws SQLException {
+        delay( connectLatency );
+        if ( fails( connectCount, connectFailure ) ) {
+            throw new SQLNonTransientConnectionException( "Injected connection failure", "08001" );
+        }
+    }
+
+    boolean validate() {
+        delay( validLatency );
+        return !fails( validCount, validFailure );
+    }
+
+    void query() throws SQLException {
+        delay( queryLatency );
+        if ( fails( queryCount, queryFailure ) ) {
+            throw new SQLNonTransientConnectionException( "Injected query failure", "08006" );
+        }
+    }
+
+    private static boolean fails(AtomicLong counter, long period) {
+        return period > 0 && counter.incrementAndGet() % period == 0;
+    }
+
+    private static void delay(long nanos) {
+        if ( nanos <= 0 ) {
+            return;
+        }
+        long deadline = nanoTime() + nanos;
+        if ( nanos >= PARK_THRESHOLD_NS ) {
+            LockSupport.parkNanos( nanos );
+        }
+        while ( nanoTime() - deadline < 0 ) {
+            // spin
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.benchmark.stub;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+/**
+ * In-memory driver to measure the overhead of the pool in isolation. The behaviour is set on the URL, for example
+ * {@code jdbc:stub:connectLatency=1000000;queryLatency=50000;queryFailure=1000}. See {@link StubConfiguration}.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class StubDriver implements Driver {
+
+    public static final String URL_PREFIX = "jdbc:stub:";
+
+    // connections to the same URL share the failure injection counters
+    private static final ConcurrentMap<String, StubConfiguration> configurations = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            DriverManager.registerDriver( new StubDriver() );
+        } catch ( SQLException e ) {
+            throw new ExceptionInInitializerError( e );
+        }
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if ( !acceptsURL( url ) ) {
+            return null;
+        }
+        StubConfiguration configuration = configurations.computeIfAbsent( url, u -> new StubConfiguration( u.substring( URL_PREFIX.length() ) ) );
+        configuration.connect();
+        return new StubConnection( configuration );
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith( URL_PREFIX );
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
@@ -31,4 +31,8 @@ public interface BlockingPool<T> extends AutoCloseable {
 
     void checkIn(T t);
 
+    // called when a value is destroyed, for pools that keep a reference to it while checked out
+    default void remove(T t) {
+    }
+
 }
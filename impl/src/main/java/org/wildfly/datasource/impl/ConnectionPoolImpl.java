@@ -43,7 +43,7 @@ public class ConnectionPoolImpl implements AutoCloseable {
 
     private final WildFlyDataSourceImpl dataSource;
 
-    // allConnections collection should only be mutated by housekeeping threads
+    // allConnections collection should only be mutated by housekeeping and validation threads
 
     private final BlockingPool<ConnectionHandler> connectionPool;
     private final List<ConnectionHandler> allConnections;
@@ -54,6 +54,9 @@ public class ConnectionPoolImpl implements AutoCloseable {
 
     private final ScheduledExecutorService housekeepingExecutor;
 
+    // validations may block on the network, so they don't delay the creation of connections
+    private final ScheduledExecutorService validationExecutor;
+
     public ConnectionPoolImpl(ConnectionPoolConfiguration configuration, WildFlyDataSourceImpl dataSource) {
         this.configuration = configuration;
         this.dataSource = dataSource;
@@ -65,6 +68,7 @@ public class ConnectionPoolImpl implements AutoCloseable {
         connectionFactory = new ConnectionFactoryImpl( configuration.connectionFactoryConfiguration(), this );
 
         housekeepingExecutor = Executors.newSingleThreadScheduledExecutor( Executors.defaultThreadFactory() );
+        validationExecutor = Executors.newSingleThreadScheduledExecutor( Executors.defaultThreadFactory() );
     }
 
     public void init() {
@@ -81,7 +85,7 @@ public class ConnectionPoolImpl implements AutoCloseable {
         }
 
         if ( !configuration.validationTimeout().isZero() ) {
-            housekeepingExecutor.schedule( new ValidationMainTask(), configuration.validationTimeout().toNanos(), TimeUnit.NANOSECONDS );
+            validationExecutor.schedule( new ValidationMainTask(), configuration.validationTimeout().toNanos(), TimeUnit.NANOSECONDS );
         }
         if ( !configuration.reapTimeout().isZero() ) {
             housekeepingExecutor.schedule( new ReapMainTask(), configuration.reapTimeout().toNanos(), TimeUnit.NANOSECONDS );
@@ -102,6 +106,7 @@ public class ConnectionPoolImpl implements AutoCloseable {
     @Override
     public void close() {
         housekeepingExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
     }
 
     // --- //
@@ -218,18 +223,18 @@ public class ConnectionPoolImpl implements AutoCloseable {
 
     // --- validation + leak detection //
 
+    // Each cycle goes over all connections in one task, instead of scheduling a task for each connection
+
     private class ValidationMainTask implements Runnable {
 
-        private static final long VALIDATION_INTERVAL_NS = 20 * 1_000_000;
         private static final long LEAK_INTERVAL_S = 1;
 
         @Override
         public void run() {
-            int i = 0;
             try {
                 for ( ConnectionHandler handler : allConnections ) {
                     if ( handler.getState() == ConnectionHandler.State.CHECKED_IN ) {
-                        housekeepingExecutor.schedule( new ValidationTask( handler ), ++i * VALIDATION_INTERVAL_NS, TimeUnit.NANOSECONDS );
+                        validateConnection( handler );
                     }
                     if ( handler.getState() == ConnectionHandler.State.CHECKED_OUT ) {
                         if ( System.nanoTime() - handler.getLastAccess() > TimeUnit.SECONDS.toNanos( LEAK_INTERVAL_S ) ) {
@@ -240,33 +245,19 @@ public class ConnectionPoolImpl implements AutoCloseable {
                 }
             }
             finally {
-                housekeepingExecutor.schedule( this, ++i * VALIDATION_INTERVAL_NS + configuration.validationTimeout().toNanos(), TimeUnit.NANOSECONDS );
+                validationExecutor.schedule( this, configuration.validationTimeout().toNanos(), TimeUnit.NANOSECONDS );
             }
         }
-    }
-
-    private class ValidationTask implements Runnable {
-
-        private ConnectionHandler handler;
-
-        public ValidationTask(ConnectionHandler handler) {
-            this.handler = handler;
-        }
 
-        @Override
-        public void run() {
+        private void validateConnection(ConnectionHandler handler) {
             WildFlyDataSourceListenerHelper.fireOnConnectionValidation( dataSource.listenerList(), handler.getConnection() );
 
-            if ( handler.getState() == ConnectionHandler.State.CHECKED_IN ) {
-                if ( configuration.connectionValidator().isValid( handler.getConnection() ) ) {
-                    // TODO: all good!
-                    //System.out.println( "Valid connection " + handler.getConnection() );
-                } else {
-                    handler.setState( ConnectionHandler.State.TO_DESTROY );
-                    closeInvalidConnection( handler );
-                    handler.setState( ConnectionHandler.State.DESTROYED );
-                    allConnections.remove( handler );
-                }
+            if ( !configuration.connectionValidator().isValid( handler.getConnection() ) ) {
+                handler.setState( ConnectionHandler.State.TO_DESTROY );
+                closeInvalidConnection( handler );
+                handler.setState( ConnectionHandler.State.DESTROYED );
+                allConnections.remove( handler );
+                connectionPool.remove( handler );
             }
         }
 
@@ -278,41 +269,27 @@ public class ConnectionPoolImpl implements AutoCloseable {
             }
             dataSource.metricsRegistry().afterConnectionClose();
         }
-
     }
 
     // --- reap //
 
     private class ReapMainTask implements Runnable {
 
-        private static final long REAP_INTERVAL_NS = 20 * 1_000_000;
-
         @Override
         public void run() {
-            int i = 0;
             try {
                 for ( ConnectionHandler handler : allConnections ) {
                     if ( handler.getState() == ConnectionHandler.State.CHECKED_IN ) {
-                        housekeepingExecutor.schedule( new ReapTask( handler ), ++i * REAP_INTERVAL_NS, TimeUnit.NANOSECONDS );
+                        reapConnection( handler );
                     }
                 }
             } finally {
-                housekeepingExecutor.schedule( this, ++i * REAP_INTERVAL_NS + configuration.reapTimeout().toNanos(), TimeUnit.NANOSECONDS );
+                housekeepingExecutor.schedule( this, configuration.reapTimeout().toNanos(), TimeUnit.NANOSECONDS );
             }
         }
-    }
-
-    private class ReapTask implements Runnable {
-
-        private ConnectionHandler handler;
-
-        public ReapTask(ConnectionHandler handler) {
-            this.handler = handler;
-        }
 
-        @Override
-        public void run() {
-            if ( allConnections.size() > configuration.minSize() && handler.getState() == ConnectionHandler.State.CHECKED_IN ) {
+        private void reapConnection(ConnectionHandler handler) {
+            if ( allConnections.size() > configuration.minSize() ) {
                 if ( System.nanoTime() - handler.getLastAccess() > configuration.reapTimeout().toNanos() ) {
 
                     WildFlyDataSourceListenerHelper.fireOnConnectionTimeout( dataSource.listenerList(), handler.getConnection() );
@@ -321,10 +298,7 @@ public class ConnectionPoolImpl implements AutoCloseable {
                     closeIdleConnection( handler );
                     handler.setState( ConnectionHandler.State.DESTROYED );
                     allConnections.remove( handler );
-                }
-                else {
-                    // TODO: all good!
-                    //System.out.println( "In use connection " + handler.getConnection() );
+                    connectionPool.remove( handler );
                 }
             }
         }
@@ -337,7 +311,6 @@ public class ConnectionPoolImpl implements AutoCloseable {
             }
             dataSource.metricsRegistry().afterConnectionTimeout();
         }
-
     }
 
 }
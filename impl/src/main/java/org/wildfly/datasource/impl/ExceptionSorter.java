@@ -22,13 +22,11 @@
 
 package org.wildfly.datasource.impl;
 
-import java.sql.SQLException;
-
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ * @deprecated replaced by {@link org.wildfly.datasource.api.configuration.ExceptionSorter}, that is part of the pool configuration
  */
-public interface ExceptionSorter {
-
-    boolean isFatal(SQLException exception);
+@Deprecated
+public interface ExceptionSorter extends org.wildfly.datasource.api.configuration.ExceptionSorter {
 
 }
@@ -22,16 +22,20 @@
 
 package org.wildfly.datasource.impl.pool;
 
+import org.wildfly.datasource.api.util.VirtualThreads;
 import org.wildfly.datasource.impl.BlockingPool;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Spliterator;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -67,6 +71,11 @@ public class FastBag<T> implements BlockingPool<T> {
         bag.add( t );
     }
 
+    @Override
+    public void remove(T t) {
+        bag.remove( t );
+    }
+
     @Override
     public void close() throws Exception {
         bag.close();
@@ -107,14 +116,20 @@ public class FastBag<T> implements BlockingPool<T> {
 
         private static final int STATE_NOT_IN_USE = 0;
         private static final int STATE_IN_USE = 1;
+        private static final int STATE_REMOVED = 2;
 
         private final SequenceSynchronizer synchronizer;
         private final CopyOnWriteArrayList<BagEntry<B>> sharedList;
+
+        // the entry of each value, by identity, for values returned by a thread other than the one that borrowed them
+        private final Map<B, BagEntry<B>> sharedEntries;
+
         private final ThreadLocal<FastList<BagEntry<B>>> threadList;
         private final ThreadLocal<BagEntry<B>> threadEntry;
 
         public ConcurrentBag() {
             this.sharedList = new CopyOnWriteArrayList<>();
+            this.sharedEntries = Collections.synchronizedMap( new IdentityHashMap<>() );
             this.synchronizer = new SequenceSynchronizer();
             this.threadEntry = new ThreadLocal<>();
             this.threadList = ThreadLocal.withInitial( () -> new FastList<>( BagEntry.class, 16 ) );
@@ -122,16 +137,21 @@ public class FastBag<T> implements BlockingPool<T> {
 
         public void close() {
             sharedList.clear();
+            sharedEntries.clear();
         }
 
         public BagEntry<B> borrow() throws InterruptedException {
-            // Try the thread-local list first
-            FastList<BagEntry<B>> list = threadList.get();
+            // Virtual threads skip the thread-locals, as each one would hold its own copy
+            boolean virtual = VirtualThreads.isVirtual( Thread.currentThread() );
 
-            for ( int i = list.size() - 1; i >= 0; i-- ) {
-                final BagEntry<B> bagEntry = list.remove( i );
-                if ( bagEntry != null && bagEntry.compareAndSet( STATE_NOT_IN_USE, STATE_IN_USE ) ) {
-                    return bagEntry;
+            // Try the thread-local list first
+            if ( !virtual ) {
+                FastList<BagEntry<B>> list = threadList.get();
+                for ( int i = list.size() - 1; i >= 0; i-- ) {
+                    final BagEntry<B> bagEntry = list.remove( i );
+                    if ( bagEntry != null && bagEntry.compareAndSet( STATE_NOT_IN_USE, STATE_IN_USE ) ) {
+                        return bagEntry;
+                    }
                 }
             }
 
@@ -142,7 +162,9 @@ public class FastBag<T> implements BlockingPool<T> {
                     startSeq = synchronizer.currentSequence();
                     for ( BagEntry<B> bagEntry : sharedList ) {
                         if ( bagEntry.compareAndSet( STATE_NOT_IN_USE, STATE_IN_USE ) ) {
-                            threadEntry.set( bagEntry );
+                            if ( !virtual ) {
+                                threadEntry.set( bagEntry );
+                            }
                             return bagEntry;
                         }
                     }
@@ -154,16 +176,31 @@ public class FastBag<T> implements BlockingPool<T> {
         }
 
         public void add(final B entry) {
-            BagEntry<B> bagEntry = threadEntry.get();
-            if (bagEntry == null || bagEntry.value() != entry) {
-                bagEntry = new BagEntry<>( entry );
-                sharedList.add( bagEntry );
+            boolean virtual = VirtualThreads.isVirtual( Thread.currentThread() );
+            BagEntry<B> bagEntry = virtual ? null : threadEntry.get();
+            if ( bagEntry == null || bagEntry.value() != entry ) {
+                bagEntry = sharedEntries.computeIfAbsent( entry, e -> {
+                    BagEntry<B> newEntry = new BagEntry<>( e );
+                    sharedList.add( newEntry );
+                    return newEntry;
+                } );
             }
             bagEntry.lazySet( STATE_NOT_IN_USE );
-            threadList.get().add( bagEntry );
+            if ( !virtual ) {
+                threadList.get().add( bagEntry );
+            }
             synchronizer.signal();
         }
 
+        public void remove(final B entry) {
+            BagEntry<B> bagEntry = sharedEntries.remove( entry );
+            if ( bagEntry != null ) {
+                // it may still be on some thread-local list, where it can not be borrowed anymore
+                bagEntry.lazySet( STATE_REMOVED );
+                sharedList.remove( bagEntry );
+            }
+        }
+
     }
 
     // --- //
@@ -0,0 +1,66 @@
+package org.wildlfy.datasource.impl.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.impl.pool.FastBag;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class FastBagTest {
+
+    private static <T> CompletableFuture<T> checkOutAsync(FastBag<T> bag) {
+        // checkOut does not give up when interrupted, so the thread must not prevent the JVM from exiting
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Thread thread = new Thread( () -> future.complete( bag.checkOut() ) );
+        thread.setDaemon( true );
+        thread.start();
+        return future;
+    }
+
+    @Test
+    public void removeTest() throws Exception {
+        FastBag<String> bag = new FastBag<>();
+        String removed = new String( "removed" );
+        bag.checkIn( removed );
+        bag.remove( removed );
+
+        CompletableFuture<String> future = checkOutAsync( bag );
+        Thread.sleep( 200 );
+        Assert.assertFalse( "Removed value was borrowed", future.isDone() );
+
+        String other = new String( "other" );
+        bag.checkIn( other );
+        Assert.assertSame( other, future.get( 5, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    public void returnedByOtherThreadTest() throws Exception {
+        FastBag<String> bag = new FastBag<>();
+        String value = new String( "value" );
+        bag.checkIn( value );
+
+        // borrowed by one thread, returned by another, which must reuse the entry of the value
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        try {
+            Assert.assertSame( value, executor.submit( bag::checkOut ).get( 5, TimeUnit.SECONDS ) );
+            executor.submit( () -> bag.checkIn( value ) ).get( 5, TimeUnit.SECONDS );
+        } finally {
+            executor.shutdown();
+        }
+
+        bag.remove( value );
+        CompletableFuture<String> future = checkOutAsync( bag );
+        Thread.sleep( 200 );
+        Assert.assertFalse( "Removed value was borrowed", future.isDone() );
+
+        String other = new String( "other" );
+        bag.checkIn( other );
+        Assert.assertSame( other, future.get( 5, TimeUnit.SECONDS ) );
+    }
+}
@@ -0,0 +1,1161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * Callable statement of a connection, that reports fatal exceptions to it.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class CallableStatementWrapper extends PreparedStatementWrapper implements CallableStatement {
+
+    private CallableStatement wrappedCallableStatement;
+
+    public CallableStatementWrapper(ConnectionWrapper connectionWrapper, CallableStatement statement) {
+        this( connectionWrapper, null, null, statement );
+    }
+
+    public CallableStatementWrapper(ConnectionWrapper connectionWrapper, StatementCache cache, StatementCache.Key statementKey, CallableStatement statement) {
+        super( connectionWrapper, cache, statementKey, statement );
+        wrappedCallableStatement = statement;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        wrappedCallableStatement = CLOSED_STATEMENT;
+        super.close();
+    }
+
+    // --- //
+
+    @Override
+    public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterIndex, sqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, int sqlType, int scale) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterIndex, sqlType, scale );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        try {
+            return wrappedCallableStatement.wasNull();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public String getString(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getString( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean getBoolean(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBoolean( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public byte getByte(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getByte( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public short getShort(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getShort( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getInt(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getInt( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long getLong(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getLong( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public float getFloat(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getFloat( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public double getDouble(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getDouble( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int parameterIndex, int scale) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBigDecimal( parameterIndex, scale );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public byte[] getBytes(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBytes( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Date getDate(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getDate( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Time getTime(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTime( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Timestamp getTimestamp(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTimestamp( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Object getObject(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getObject( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBigDecimal( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Object getObject(int parameterIndex, Map<String, Class<?>> map) throws SQLException {
+        try {
+            return wrappedCallableStatement.getObject( parameterIndex, map );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Ref getRef(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getRef( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Blob getBlob(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBlob( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Clob getClob(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getClob( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Array getArray(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getArray( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Date getDate(int parameterIndex, Calendar cal) throws SQLException {
+        try {
+            return wrappedCallableStatement.getDate( parameterIndex, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Time getTime(int parameterIndex, Calendar cal) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTime( parameterIndex, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Timestamp getTimestamp(int parameterIndex, Calendar cal) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTimestamp( parameterIndex, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterIndex, sqlType, typeName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, int sqlType) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterName, sqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, int sqlType, int scale) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterName, sqlType, scale );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, int sqlType, String typeName) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterName, sqlType, typeName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public URL getURL(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getURL( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setURL(String parameterName, URL val) throws SQLException {
+        try {
+            wrappedCallableStatement.setURL( parameterName, val );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNull(String parameterName, int sqlType) throws SQLException {
+        try {
+            wrappedCallableStatement.setNull( parameterName, sqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBoolean(String parameterName, boolean x) throws SQLException {
+        try {
+            wrappedCallableStatement.setBoolean( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setByte(String parameterName, byte x) throws SQLException {
+        try {
+            wrappedCallableStatement.setByte( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setShort(String parameterName, short x) throws SQLException {
+        try {
+            wrappedCallableStatement.setShort( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setInt(String parameterName, int x) throws SQLException {
+        try {
+            wrappedCallableStatement.setInt( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setLong(String parameterName, long x) throws SQLException {
+        try {
+            wrappedCallableStatement.setLong( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setFloat(String parameterName, float x) throws SQLException {
+        try {
+            wrappedCallableStatement.setFloat( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setDouble(String parameterName, double x) throws SQLException {
+        try {
+            wrappedCallableStatement.setDouble( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBigDecimal(String parameterName, BigDecimal x) throws SQLException {
+        try {
+            wrappedCallableStatement.setBigDecimal( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setString(String parameterName, String x) throws SQLException {
+        try {
+            wrappedCallableStatement.setString( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBytes(String parameterName, byte[] x) throws SQLException {
+        try {
+            wrappedCallableStatement.setBytes( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setDate(String parameterName, java.sql.Date x) throws SQLException {
+        try {
+            wrappedCallableStatement.setDate( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTime(String parameterName, java.sql.Time x) throws SQLException {
+        try {
+            wrappedCallableStatement.setTime( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTimestamp(String parameterName, java.sql.Timestamp x) throws SQLException {
+        try {
+            wrappedCallableStatement.setTimestamp( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setAsciiStream(String parameterName, InputStream x, int length) throws SQLException {
+        try {
+            wrappedCallableStatement.setAsciiStream( parameterName, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBinaryStream(String parameterName, InputStream x, int length) throws SQLException {
+        try {
+            wrappedCallableStatement.setBinaryStream( parameterName, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x, int targetSqlType, int scale) throws SQLException {
+        try {
+            wrappedCallableStatement.setObject( parameterName, x, targetSqlType, scale );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x, int targetSqlType) throws SQLException {
+        try {
+            wrappedCallableStatement.setObject( parameterName, x, targetSqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x) throws SQLException {
+        try {
+            wrappedCallableStatement.setObject( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setCharacterStream(String parameterName, Reader reader, int length) throws SQLException {
+        try {
+            wrappedCallableStatement.setCharacterStream( parameterName, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setDate(String parameterName, java.sql.Date x, Calendar cal) throws SQLException {
+        try {
+            wrappedCallableStatement.setDate( parameterName, x, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTime(String parameterName, java.sql.Time x, Calendar cal) throws SQLException {
+        try {
+            wrappedCallableStatement.setTime( parameterName, x, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTimestamp(String parameterName, java.sql.Timestamp x, Calendar cal) throws SQLException {
+        try {
+            wrappedCallableStatement.setTimestamp( parameterName, x, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNull(String parameterName, int sqlType, String typeName) throws SQLException {
+        try {
+            wrappedCallableStatement.setNull( parameterName, sqlType, typeName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public String getString(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getString( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean getBoolean(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBoolean( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public byte getByte(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getByte( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public short getShort(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getShort( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getInt(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getInt( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long getLong(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getLong( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public float getFloat(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getFloat( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public double getDouble(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getDouble( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public byte[] getBytes(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBytes( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Date getDate(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getDate( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Time getTime(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTime( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Timestamp getTimestamp(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTimestamp( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Object getObject(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getObject( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBigDecimal( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Object getObject(String parameterName, Map<String, Class<?>> map) throws SQLException {
+        try {
+            return wrappedCallableStatement.getObject( parameterName, map );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Ref getRef(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getRef( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Blob getBlob(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getBlob( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Clob getClob(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getClob( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Array getArray(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getArray( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Date getDate(String parameterName, Calendar cal) throws SQLException {
+        try {
+            return wrappedCallableStatement.getDate( parameterName, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Time getTime(String parameterName, Calendar cal) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTime( parameterName, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public java.sql.Timestamp getTimestamp(String parameterName, Calendar cal) throws SQLException {
+        try {
+            return wrappedCallableStatement.getTimestamp( parameterName, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public URL getURL(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getURL( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public RowId getRowId(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getRowId( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public RowId getRowId(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getRowId( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setRowId(String parameterName, RowId x) throws SQLException {
+        try {
+            wrappedCallableStatement.setRowId( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNString(String parameterName, String value) throws SQLException {
+        try {
+            wrappedCallableStatement.setNString( parameterName, value );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(String parameterName, Reader value, long length) throws SQLException {
+        try {
+            wrappedCallableStatement.setNCharacterStream( parameterName, value, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNClob(String parameterName, NClob value) throws SQLException {
+        try {
+            wrappedCallableStatement.setNClob( parameterName, value );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setClob(String parameterName, Reader reader, long length) throws SQLException {
+        try {
+            wrappedCallableStatement.setClob( parameterName, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBlob(String parameterName, InputStream inputStream, long length) throws SQLException {
+        try {
+            wrappedCallableStatement.setBlob( parameterName, inputStream, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNClob(String parameterName, Reader reader, long length) throws SQLException {
+        try {
+            wrappedCallableStatement.setNClob( parameterName, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public NClob getNClob(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getNClob( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public NClob getNClob(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getNClob( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setSQLXML(String parameterName, SQLXML xmlObject) throws SQLException {
+        try {
+            wrappedCallableStatement.setSQLXML( parameterName, xmlObject );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getSQLXML( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getSQLXML( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public String getNString(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getNString( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public String getNString(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getNString( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getNCharacterStream( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getNCharacterStream( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(int parameterIndex) throws SQLException {
+        try {
+            return wrappedCallableStatement.getCharacterStream( parameterIndex );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(String parameterName) throws SQLException {
+        try {
+            return wrappedCallableStatement.getCharacterStream( parameterName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBlob(String parameterName, Blob x) throws SQLException {
+        try {
+            wrappedCallableStatement.setBlob( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setClob(String parameterName, Clob x) throws SQLException {
+        try {
+            wrappedCallableStatement.setClob( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setAsciiStream(String parameterName, InputStream x, long length) throws SQLException {
+        try {
+            wrappedCallableStatement.setAsciiStream( parameterName, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBinaryStream(String parameterName, InputStream x, long length) throws SQLException {
+        try {
+            wrappedCallableStatement.setBinaryStream( parameterName, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setCharacterStream(String parameterName, Reader reader, long length) throws SQLException {
+        try {
+            wrappedCallableStatement.setCharacterStream( parameterName, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setAsciiStream(String parameterName, InputStream x) throws SQLException {
+        try {
+            wrappedCallableStatement.setAsciiStream( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBinaryStream(String parameterName, InputStream x) throws SQLException {
+        try {
+            wrappedCallableStatement.setBinaryStream( parameterName, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setCharacterStream(String parameterName, Reader reader) throws SQLException {
+        try {
+            wrappedCallableStatement.setCharacterStream( parameterName, reader );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(String parameterName, Reader value) throws SQLException {
+        try {
+            wrappedCallableStatement.setNCharacterStream( parameterName, value );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setClob(String parameterName, Reader reader) throws SQLException {
+        try {
+            wrappedCallableStatement.setClob( parameterName, reader );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBlob(String parameterName, InputStream inputStream) throws SQLException {
+        try {
+            wrappedCallableStatement.setBlob( parameterName, inputStream );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNClob(String parameterName, Reader reader) throws SQLException {
+        try {
+            wrappedCallableStatement.setNClob( parameterName, reader );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public <T> T getObject(int parameterIndex, Class<T> type) throws SQLException {
+        try {
+            return wrappedCallableStatement.getObject( parameterIndex, type );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public <T> T getObject(String parameterName, Class<T> type) throws SQLException {
+        try {
+            return wrappedCallableStatement.getObject( parameterName, type );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        try {
+            wrappedCallableStatement.setObject( parameterName, x, targetSqlType, scaleOrLength );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x, SQLType targetSqlType) throws SQLException {
+        try {
+            wrappedCallableStatement.setObject( parameterName, x, targetSqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, SQLType sqlType) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterIndex, sqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, SQLType sqlType, int scale) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterIndex, sqlType, scale );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, SQLType sqlType, String typeName) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterIndex, sqlType, typeName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, SQLType sqlType) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterName, sqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, SQLType sqlType, int scale) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterName, sqlType, scale );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, SQLType sqlType, String typeName) throws SQLException {
+        try {
+            wrappedCallableStatement.registerOutParameter( parameterName, sqlType, typeName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+}
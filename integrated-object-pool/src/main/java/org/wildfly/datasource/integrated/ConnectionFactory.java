@@ -43,11 +43,13 @@ public class ConnectionFactory {
     private ConnectionFactoryConfiguration configuration;
     private Driver driver;
     private Properties jdbcProperties;
+    private SqlMetadataCache sqlMetadataCache;
 
     @SuppressWarnings("unchecked")
-    public ConnectionFactory(ConnectionFactoryConfiguration configuration) {
+    public ConnectionFactory(ConnectionFactoryConfiguration configuration, SqlMetadataCache sqlMetadataCache) {
         try {
             this.configuration = configuration;
+            this.sqlMetadataCache = configuration.sqlMetadataCacheSize() > 0 ? sqlMetadataCache : null;
             this.jdbcProperties = configuration.jdbcProperties();
             ClassLoader driverLoader = configuration.classLoaderProvider().getClassLoader( configuration.driverClassName() );
             Class<Driver> driverClass = (Class<Driver>) driverLoader.loadClass( configuration.driverClassName() );
@@ -91,9 +93,32 @@ public class ConnectionFactory {
 
     public ConnectionHandler createHandler() throws SQLException {
         Connection connection = driver.connect( configuration.jdbcUrl(), jdbcProperties );
-        connection.setAutoCommit( configuration.autoCommit() );
+        ConnectionHandler handler = new ConnectionHandler( connection, configuration.preparedStatementCacheSize(), sqlMetadataCache );
+        handler.setAutoCommit( configuration.autoCommit() );
+        if ( configuration.transactionIsolation() != null ) {
+            handler.setTransactionIsolation( jdbcTransactionIsolation( configuration.transactionIsolation() ) );
+        }
         connection.createStatement().execute( configuration.initialSql() );
-        return new ConnectionHandler( connection );
+        return handler;
+    }
+
+    // the JDBC level for a configured isolation, or null if none is configured
+    static Integer jdbcTransactionIsolation(ConnectionFactoryConfiguration.TransactionIsolation transactionIsolation) {
+        if ( transactionIsolation == null ) {
+            return null;
+        }
+        switch ( transactionIsolation ) {
+            case READ_UNCOMMITTED:
+                return Connection.TRANSACTION_READ_UNCOMMITTED;
+            case READ_COMMITTED:
+                return Connection.TRANSACTION_READ_COMMITTED;
+            case REPEATABLE_READ:
+                return Connection.TRANSACTION_REPEATABLE_READ;
+            case SERIALIZABLE:
+                return Connection.TRANSACTION_SERIALIZABLE;
+            default:
+                return Connection.TRANSACTION_NONE;
+        }
     }
 
 }
@@ -24,33 +24,66 @@ package org.wildfly.datasource.integrated;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.Objects;
 
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class ConnectionHandler {
+public class ConnectionHandler extends ConnectionHandlerPadding.RightPadding {
 
-    private final static AtomicReferenceFieldUpdater<ConnectionHandler, State> stateUpdater = AtomicReferenceFieldUpdater.newUpdater( ConnectionHandler.class, State.class, "state" );
+    // connection attributes that can be changed by the application and are restored on return
+    public static final int AUTOCOMMIT = 1;
+    public static final int TRANSACTION_ISOLATION = 1 << 1;
+    public static final int READ_ONLY = 1 << 2;
+    public static final int CATALOG = 1 << 3;
+    public static final int SCHEMA = 1 << 4;
+    public static final int HOLDABILITY = 1 << 5;
+    public static final int NETWORK_TIMEOUT = 1 << 6;
 
     private final Connection connection;
 
+    // null when the statement cache is disabled
+    private final StatementCache statementCache;
+
+    // shared by all the connections of the pool, null when disabled
+    private final SqlMetadataCache sqlMetadataCache;
+
     private ConnectionPool connectionPool;
 
-    // Can use annotation to get a little better performance
-    // @Contended
-    private volatile State state;
+    // the state is on the padded superclass, to avoid false sharing with the fields below and with other handlers
 
     // for leak detection (only valid for CHECKED_OUT connections)
     private Thread holdingThread;
 
-    // for expiration (CHECKED_IN connections) and leak detection (CHECKED_OUT connections)
+    // for expiration and validation on acquisition (CHECKED_IN connections) and leak detection (CHECKED_OUT connections)
     private long lastAccess;
 
+    // attribute values the connection had before the first change (only accessed by the thread holding the connection)
+    private int capturedAttributes;
+    private boolean defaultAutoCommit, defaultReadOnly;
+    private int defaultTransactionIsolation, defaultHoldability, defaultNetworkTimeout;
+    private String defaultCatalog, defaultSchema;
+
+    // current attribute values, as last read or set through the wrappers (only accessed by the thread holding the connection)
+    private int knownAttributes;
+    private boolean autoCommit, readOnly;
+    private int transactionIsolation, holdability;
+    private String catalog, schema;
+
+    // for hold time metrics (only valid for CHECKED_OUT connections)
+    private long holdTimestamp;
+    private Throwable holdingSite;
+
     public ConnectionHandler(Connection connection) {
+        this( connection, 0, null );
+    }
+
+    public ConnectionHandler(Connection connection, int statementCacheSize, SqlMetadataCache sqlMetadataCache) {
         this.connection = connection;
+        this.statementCache = statementCacheSize > 0 ? new StatementCache( statementCacheSize ) : null;
+        this.sqlMetadataCache = sqlMetadataCache;
         state = State.NEW;
-        lastAccess = System.currentTimeMillis();
+        lastAccess = System.nanoTime();
     }
 
     public void setConnectionPool(ConnectionPool connectionPool) {
@@ -61,10 +94,198 @@ public class ConnectionHandler {
         return connection;
     }
 
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    public SqlMetadataCache getSqlMetadataCache() {
+        return sqlMetadataCache;
+    }
+
+    // --- //
+
+    public void captureDefault(int attribute) throws SQLException {
+        if ( ( capturedAttributes & attribute ) != 0 ) {
+            return;
+        }
+        switch ( attribute ) {
+            case AUTOCOMMIT:
+                defaultAutoCommit = getAutoCommit();
+                break;
+            case TRANSACTION_ISOLATION:
+                defaultTransactionIsolation = getTransactionIsolation();
+                break;
+            case READ_ONLY:
+                defaultReadOnly = isReadOnly();
+                break;
+            case CATALOG:
+                defaultCatalog = getCatalog();
+                break;
+            case SCHEMA:
+                defaultSchema = getSchema();
+                break;
+            case HOLDABILITY:
+                defaultHoldability = getHoldability();
+                break;
+            case NETWORK_TIMEOUT:
+                defaultNetworkTimeout = connection.getNetworkTimeout();
+                break;
+            default:
+                throw new IllegalArgumentException( "Unknown connection attribute " + attribute );
+        }
+        capturedAttributes |= attribute;
+    }
+
+    public void resetAttributes(int dirtyAttributes) throws SQLException {
+        // enabling autocommit would commit the pending work
+        if ( ( dirtyAttributes & AUTOCOMMIT ) != 0 && defaultAutoCommit && !getAutoCommit() ) {
+            connection.rollback();
+        }
+        if ( ( dirtyAttributes & READ_ONLY ) != 0 ) {
+            setReadOnly( defaultReadOnly );
+        }
+        if ( ( dirtyAttributes & AUTOCOMMIT ) != 0 ) {
+            setAutoCommit( defaultAutoCommit );
+        }
+        if ( ( dirtyAttributes & TRANSACTION_ISOLATION ) != 0 ) {
+            setTransactionIsolation( defaultTransactionIsolation );
+        }
+        // a null catalog or schema can not be restored on most drivers
+        if ( ( dirtyAttributes & CATALOG ) != 0 && defaultCatalog != null ) {
+            setCatalog( defaultCatalog );
+        }
+        if ( ( dirtyAttributes & SCHEMA ) != 0 && defaultSchema != null ) {
+            setSchema( defaultSchema );
+        }
+        if ( ( dirtyAttributes & HOLDABILITY ) != 0 ) {
+            setHoldability( defaultHoldability );
+        }
+        if ( ( dirtyAttributes & NETWORK_TIMEOUT ) != 0 ) {
+            connection.setNetworkTimeout( Runnable::run, defaultNetworkTimeout );
+        }
+    }
+
+    // --- cached attributes. changes made by executing SQL (e.g. SET SCHEMA) are not seen //
+
+    private boolean isKnown(int attribute) {
+        return ( knownAttributes & attribute ) != 0;
+    }
+
+    public boolean getAutoCommit() throws SQLException {
+        if ( !isKnown( AUTOCOMMIT ) ) {
+            autoCommit = connection.getAutoCommit();
+            knownAttributes |= AUTOCOMMIT;
+        }
+        return autoCommit;
+    }
+
+    public void setAutoCommit(boolean value) throws SQLException {
+        if ( isKnown( AUTOCOMMIT ) && autoCommit == value ) {
+            return;
+        }
+        knownAttributes &= ~AUTOCOMMIT;
+        connection.setAutoCommit( value );
+        autoCommit = value;
+        knownAttributes |= AUTOCOMMIT;
+    }
+
+    public int getTransactionIsolation() throws SQLException {
+        if ( !isKnown( TRANSACTION_ISOLATION ) ) {
+            transactionIsolation = connection.getTransactionIsolation();
+            knownAttributes |= TRANSACTION_ISOLATION;
+        }
+        return transactionIsolation;
+    }
+
+    public void setTransactionIsolation(int value) throws SQLException {
+        if ( isKnown( TRANSACTION_ISOLATION ) && transactionIsolation == value ) {
+            return;
+        }
+        knownAttributes &= ~TRANSACTION_ISOLATION;
+        connection.setTransactionIsolation( value );
+        transactionIsolation = value;
+        knownAttributes |= TRANSACTION_ISOLATION;
+    }
+
+    public boolean isReadOnly() throws SQLException {
+        if ( !isKnown( READ_ONLY ) ) {
+            readOnly = connection.isReadOnly();
+            knownAttributes |= READ_ONLY;
+        }
+        return readOnly;
+    }
+
+    public void setReadOnly(boolean value) throws SQLException {
+        if ( isKnown( READ_ONLY ) && readOnly == value ) {
+            return;
+        }
+        knownAttributes &= ~READ_ONLY;
+        connection.setReadOnly( value );
+        readOnly = value;
+        knownAttributes |= READ_ONLY;
+    }
+
+    public String getCatalog() throws SQLException {
+        if ( !isKnown( CATALOG ) ) {
+            catalog = connection.getCatalog();
+            knownAttributes |= CATALOG;
+        }
+        return catalog;
+    }
+
+    public void setCatalog(String value) throws SQLException {
+        if ( isKnown( CATALOG ) && Objects.equals( catalog, value ) ) {
+            return;
+        }
+        knownAttributes &= ~CATALOG;
+        connection.setCatalog( value );
+        // some drivers ignore the catalog, so it must be read again
+    }
+
+    public String getSchema() throws SQLException {
+        if ( !isKnown( SCHEMA ) ) {
+            schema = connection.getSchema();
+            knownAttributes |= SCHEMA;
+        }
+        return schema;
+    }
+
+    public void setSchema(String value) throws SQLException {
+        if ( isKnown( SCHEMA ) && Objects.equals( schema, value ) ) {
+            return;
+        }
+        knownAttributes &= ~SCHEMA;
+        connection.setSchema( value );
+        // some drivers ignore the schema, so it must be read again
+    }
+
+    public int getHoldability() throws SQLException {
+        if ( !isKnown( HOLDABILITY ) ) {
+            holdability = connection.getHoldability();
+            knownAttributes |= HOLDABILITY;
+        }
+        return holdability;
+    }
+
+    public void setHoldability(int value) throws SQLException {
+        if ( isKnown( HOLDABILITY ) && holdability == value ) {
+            return;
+        }
+        knownAttributes &= ~HOLDABILITY;
+        connection.setHoldability( value );
+        holdability = value;
+        knownAttributes |= HOLDABILITY;
+    }
+
+    // --- //
+
     public void closeConnection() throws SQLException {
         if ( state != State.FLUSH ) {
             throw new SQLException( "Closing connection in incorrect state" );
         }
+        if ( statementCache != null ) {
+            statementCache.clear();
+        }
         connection.close();
     }
 
@@ -72,6 +293,14 @@ public class ConnectionHandler {
         connectionPool.returnConnection( this );
     }
 
+    public void checkException(SQLException exception) {
+        connectionPool.checkException( this, exception );
+    }
+
+    public void evict() {
+        connectionPool.evict( this );
+    }
+
     public boolean setState(State expected, State newState) {
         if ( expected == State.DESTROYED ) {
             throw new IllegalArgumentException( "Trying to move out of state DESTROYED" );
@@ -96,6 +325,10 @@ public class ConnectionHandler {
         stateUpdater.set( this, newState );
     }
 
+    public State getState() {
+        return stateUpdater.get( this );
+    }
+
     public boolean isActive() {
         return stateUpdater.get( this ) == State.CHECKED_OUT;
     }
@@ -108,6 +341,22 @@ public class ConnectionHandler {
         this.lastAccess = lastAccess;
     }
 
+    public long getHoldTimestamp() {
+        return holdTimestamp;
+    }
+
+    public void setHoldTimestamp(long holdTimestamp) {
+        this.holdTimestamp = holdTimestamp;
+    }
+
+    public Throwable getHoldingSite() {
+        return holdingSite;
+    }
+
+    public void setHoldingSite(Throwable holdingSite) {
+        this.holdingSite = holdingSite;
+    }
+
     public Thread getHoldingThread() {
         return holdingThread;
     }
@@ -25,19 +25,46 @@ package org.wildfly.datasource.integrated;
 import org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration;
 import org.wildfly.datasource.api.configuration.InterruptProtection;
 import org.wildfly.datasource.api.tx.TransactionIntegration;
+import org.wildfly.datasource.api.util.VirtualThreads;
+import org.wildfly.datasource.integrated.util.AtomicCopyOnWriteArrayList;
+import org.wildfly.datasource.integrated.util.AtomicReferenceCopyOnWriteArrayList;
+import org.wildfly.datasource.integrated.util.BoundedLocalCache;
+import org.wildfly.datasource.integrated.util.ExposedCopyOnWriteArrayList;
+import org.wildfly.datasource.integrated.util.ExposedList;
+import org.wildfly.datasource.integrated.util.HandOffQueue;
+import org.wildfly.datasource.integrated.util.LockFreeCopyOnWriteArrayList;
 import org.wildfly.datasource.integrated.util.PriorityScheduledExecutor;
 import org.wildfly.datasource.integrated.util.WildFlyDataSourceSynchronizer;
 import org.wildfly.datasource.integrated.util.StampedCopyOnWriteArrayList;
-import org.wildfly.datasource.integrated.util.UncheckedArrayList;
+import org.wildfly.datasource.integrated.util.SynchronizedCopyOnWriteArrayList;
+import org.wildfly.datasource.integrated.util.TimingWheel;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 import static java.lang.Long.MAX_VALUE;
 import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.FlushMode.ALL;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.FlushMode.FAILING;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.ADAPTIVE;
 import static org.wildfly.datasource.integrated.ConnectionHandler.State.CHECKED_IN;
 import static org.wildfly.datasource.integrated.ConnectionHandler.State.CHECKED_OUT;
 import static org.wildfly.datasource.integrated.ConnectionHandler.State.DESTROYED;
@@ -50,41 +77,79 @@ import static org.wildfly.datasource.integrated.WildFlyDataSourceListenerHelper.
  */
 public class ConnectionPool implements AutoCloseable {
 
+    private static final long ADAPTIVE_FILL_PERIOD_MS = 100;
+
+    private static final long HOUSEKEEPING_TICK_MS = 100;
+    private static final int HOUSEKEEPING_WHEEL_SIZE = 512;
+
+    private static final AtomicLongFieldUpdater<ConnectionPool> localCacheEpochUpdater = AtomicLongFieldUpdater.newUpdater( ConnectionPool.class, "localCacheEpoch" );
+
     private final ConnectionPoolConfiguration configuration;
 
     private final WildFlyDataSourceIntegrated dataSource;
-    private final ThreadLocal<UncheckedArrayList<ConnectionHandler>> localCache;
+    private final ThreadLocal<BoundedLocalCache<ConnectionHandler>> localCache;
 
-//    private final ExposedCopyOnWriteArrayList<ConnectionHandler> allConnections;
-//    private final AtomicCopyOnWriteArrayList<ConnectionHandler> allConnections;
-//    private final AtomicReferenceCopyOnWriteArrayList<ConnectionHandler> allConnections;
-//    private final LockFreeCopyOnWriteArrayList<ConnectionHandler> allConnections;
-//    private final SynchronizedCopyOnWriteArrayList<ConnectionHandler> allConnections;
-    private final StampedCopyOnWriteArrayList<ConnectionHandler> allConnections;
+    // used instead of localCache by virtual threads, that would each allocate their own thread-local. the slot of each
+    // connection comes from its identity, as virtual threads are too many and too short-lived to own one
+    private final AtomicReferenceArray<ConnectionHandler> stripedCache;
+
+    private final ExposedList<ConnectionHandler> allConnections;
 
     private final WildFlyDataSourceSynchronizer synchronizer = new WildFlyDataSourceSynchronizer();
+    private final HandOffQueue<ConnectionHandler> handOffQueue = new HandOffQueue<>();
     private final ConnectionFactory connectionFactory;
+    private final SqlMetadataCache sqlMetadataCache;
     private final PriorityScheduledExecutor housekeepingExecutor;
+    private final PriorityScheduledExecutor creationExecutor;
+    private final PriorityScheduledExecutor validationExecutor;
+    private final TimingWheel timingWheel;
     private final InterruptProtection interruptProtection;
     private final TransactionIntegration transactionIntegration;
 
-    private final boolean leakEnabled, validationEnable, reapEnable;
+    private final boolean leakEnabled, validationEnable, reapEnable, idleValidationEnable, fairAcquisition, adaptiveFill, lazyAcquisition;
+    private final int acquisitionStripes;
+    private final long validationSpacing;
+
+    // the configured isolation of new connections, null when left to the driver
+    private final Integer defaultTransactionIsolation;
+
+    // next free slot under the max validation rate, only accessed by the housekeeping thread
+    private long nextValidationSlot;
+
+    // validations that are due, run by up to validationConcurrency sweeps on the validation executor. guarded by itself
+    private final ArrayDeque<ValidationTimeout> pendingValidations = new ArrayDeque<>();
+    private final Runnable validationSweep = this::validationSweep;
+    private int runningValidationSweeps;
+
     private volatile long maxUsed = 0;
 
+    // acquisitions since the last run of the adaptive fill task
+    private final LongAdder acquisitionCounter = new LongAdder();
+
+    // connections being created, not yet on allConnections
+    private final AtomicInteger creatingCount = new AtomicInteger();
+
+    // set while a flush of the pool is pending, so that each failure does not trigger another one
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
+    // thread-local caches filled on a previous epoch are discarded on their next use
+    private volatile long localCacheEpoch = 0;
+
     public ConnectionPool(ConnectionPoolConfiguration configuration, WildFlyDataSourceIntegrated dataSource) {
         this.configuration = configuration;
         this.dataSource = dataSource;
 
-//        allConnections = new ExposedCopyOnWriteArrayList<>( ConnectionHandler.class );
-//        allConnections = new AtomicCopyOnWriteArrayList<>( ConnectionHandler.class );
-//        allConnections = new AtomicReferenceCopyOnWriteArrayList<>( ConnectionHandler.class );
-//        allConnections = new LockFreeCopyOnWriteArrayList<>( ConnectionHandler.class );
-//        allConnections = new SynchronizedCopyOnWriteArrayList<>( ConnectionHandler.class );
-        allConnections = new StampedCopyOnWriteArrayList<>( ConnectionHandler.class );
+        allConnections = newConnectionList( configuration.listImplementation() );
 
-        localCache = ThreadLocal.withInitial( () -> new UncheckedArrayList<ConnectionHandler>( ConnectionHandler.class ) );
-        connectionFactory = new ConnectionFactory( configuration.connectionFactoryConfiguration() );
+        localCache = ThreadLocal.withInitial( () -> new BoundedLocalCache<ConnectionHandler>( ConnectionHandler.class, configuration.localCacheSize() ) );
+        acquisitionStripes = configuration.acquisitionStripes() != 0 ? configuration.acquisitionStripes() : Runtime.getRuntime().availableProcessors();
+        stripedCache = new AtomicReferenceArray<>( configuration.localCacheSize() == 0 ? 0 : Math.max( acquisitionStripes, Runtime.getRuntime().availableProcessors() ) );
+        sqlMetadataCache = new SqlMetadataCache( configuration.connectionFactoryConfiguration().sqlMetadataCacheSize() );
+        connectionFactory = new ConnectionFactory( configuration.connectionFactoryConfiguration(), sqlMetadataCache );
         housekeepingExecutor = new PriorityScheduledExecutor( 1, "Housekeeping of " + this );
+        creationExecutor = new PriorityScheduledExecutor( configuration.creationConcurrency(), "Connection creation of " + this );
+        validationExecutor = new PriorityScheduledExecutor( configuration.validationConcurrency(), "Connection validation of " + this );
+        timingWheel = new TimingWheel( HOUSEKEEPING_WHEEL_SIZE, HOUSEKEEPING_TICK_MS, MILLISECONDS );
 
         interruptProtection = configuration.connectionFactoryConfiguration().interruptProtection();
         transactionIntegration = configuration.transactionIntegration();
@@ -92,6 +157,30 @@ public class ConnectionPool implements AutoCloseable {
         leakEnabled = !configuration.leakTimeout().isZero();
         validationEnable = !configuration.validationTimeout().isZero();
         reapEnable = !configuration.reapTimeout().isZero();
+        idleValidationEnable = !configuration.idleValidationTimeout().isZero();
+        fairAcquisition = configuration.fairAcquisition();
+        adaptiveFill = configuration.preFillMode() == ADAPTIVE;
+        lazyAcquisition = configuration.lazyAcquisition();
+        defaultTransactionIsolation = ConnectionFactory.jdbcTransactionIsolation( configuration.connectionFactoryConfiguration().transactionIsolation() );
+        validationSpacing = configuration.maxValidationsPerSecond() > 0 ? SECONDS.toNanos( 1 ) / configuration.maxValidationsPerSecond() : 0;
+    }
+
+    private static ExposedList<ConnectionHandler> newConnectionList(ConnectionPoolConfiguration.ListImplementation listImplementation) {
+        switch ( listImplementation ) {
+            default:
+            case STAMPED:
+                return new StampedCopyOnWriteArrayList<>( ConnectionHandler.class );
+            case ATOMIC:
+                return new AtomicCopyOnWriteArrayList<>( ConnectionHandler.class );
+            case ATOMIC_REFERENCE:
+                return new AtomicReferenceCopyOnWriteArrayList<>( ConnectionHandler.class );
+            case LOCK_FREE:
+                return new LockFreeCopyOnWriteArrayList<>( ConnectionHandler.class );
+            case SYNCHRONIZED:
+                return new SynchronizedCopyOnWriteArrayList<>( ConnectionHandler.class );
+            case COPY_ON_WRITE:
+                return new ExposedCopyOnWriteArrayList<>( ConnectionHandler.class );
+        }
     }
 
     public void init() {
@@ -105,16 +194,14 @@ public class ConnectionPool implements AutoCloseable {
             case MAX:
                 fill( configuration.maxSize() );
                 break;
+            case ADAPTIVE:
+                fill( configuration.minSize() );
+                housekeepingExecutor.schedule( new AdaptiveFillTask(), ADAPTIVE_FILL_PERIOD_MS, MILLISECONDS );
+                break;
         }
 
-        if ( leakEnabled ) {
-            housekeepingExecutor.schedule( new LeakTask(), configuration.leakTimeout().toNanos(), NANOSECONDS );
-        }
-        if ( validationEnable ) {
-            housekeepingExecutor.schedule( new ValidationTask(), configuration.validationTimeout().toNanos(), NANOSECONDS );
-        }
-        if ( reapEnable ) {
-            housekeepingExecutor.schedule( new ReapTask(), configuration.reapTimeout().toNanos(), NANOSECONDS );
+        if ( leakEnabled || validationEnable || reapEnable ) {
+            housekeepingExecutor.scheduleWithFixedDelay( () -> timingWheel.advance( nanoTime() ), HOUSEKEEPING_TICK_MS, HOUSEKEEPING_TICK_MS, MILLISECONDS );
         }
     }
 
@@ -128,13 +215,26 @@ public class ConnectionPool implements AutoCloseable {
     @Override
     public void close() {
         housekeepingExecutor.shutdownNow();
+        creationExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
     }
 
     // --- //
 
+    private boolean canCreateConnection() {
+        return allConnections.size() + creatingCount.get() < configuration.maxSize();
+    }
+
     private Future<?> newConnectionHandler() {
-        return housekeepingExecutor.executeNow( () -> {
-            if ( allConnections.size() >= configuration.maxSize() ) {
+        return newConnectionHandler( e -> {
+        } );
+    }
+
+    private Future<?> newConnectionHandler(Consumer<SQLException> failureConsumer) {
+        return creationExecutor.executeNow( () -> {
+            // Connections are created concurrently. Reserve a slot before connecting.
+            if ( allConnections.size() + creatingCount.incrementAndGet() > configuration.maxSize() ) {
+                creatingCount.decrementAndGet();
                 return;
             }
 
@@ -150,11 +250,17 @@ public class ConnectionPool implements AutoCloseable {
                 handler.setState( CHECKED_IN );
                 allConnections.add( handler );
                 maxUsedCount();
+                scheduleHousekeeping( handler );
 
                 dataSource.metricsRegistry().afterConnectionCreated( metricsStamp );
+
+                transferToWaiter( handler );
             } catch ( SQLException e ) {
+                failureConsumer.accept( e );
                 throw new RuntimeException( e );
             } finally {
+                creatingCount.decrementAndGet();
+
                 // not strictly needed, but not harmful either
                 synchronizer.releaseConditional();
             }
@@ -164,36 +270,282 @@ public class ConnectionPool implements AutoCloseable {
     // --- //
 
     public Connection getConnection() throws SQLException {
-        fireBeforeConnectionAcquire( dataSource );
-        long metricsStamp = dataSource.metricsRegistry().beforeConnectionAcquire();
-
-        ConnectionHandler checkedOutHandler = null;
         ConnectionWrapper connectionWrapper = wrapperFromTransaction();
         if ( connectionWrapper != null ) {
-            checkedOutHandler = connectionWrapper.getHandler();
+            // a lazy connection may not be bound to a handler yet
+            if ( connectionWrapper.getHandler() != null ) {
+                fireBeforeConnectionAcquire( dataSource );
+                afterAcquire( connectionWrapper.getHandler(), dataSource.metricsRegistry().beforeConnectionAcquire(), Thread.currentThread() );
+            }
+            return connectionWrapper;
+        }
+
+        if ( lazyAcquisition ) {
+            connectionWrapper = new ConnectionWrapper( this, interruptProtection, configuration.connectionFactoryConfiguration().autoCommit(), defaultTransactionIsolation );
+        } else {
+            connectionWrapper = new ConnectionWrapper( checkOut(), interruptProtection );
         }
-        if ( checkedOutHandler == null ) {
+        transactionIntegration.associate( connectionWrapper );
+        return connectionWrapper;
+    }
+
+    ConnectionHandler checkOut() throws SQLException {
+        fireBeforeConnectionAcquire( dataSource );
+        long metricsStamp = dataSource.metricsRegistry().beforeConnectionAcquire();
+
+        ConnectionHandler checkedOutHandler;
+        do {
             checkedOutHandler = handlerFromLocalCache();
+            if ( checkedOutHandler == null ) {
+                checkedOutHandler = handlerFromSharedCache();
+            }
+        } while ( !validateOnAcquire( checkedOutHandler ) );
+
+        afterAcquire( checkedOutHandler, metricsStamp, Thread.currentThread() );
+        return checkedOutHandler;
+    }
+
+    public CompletionStage<Connection> getConnectionAsync() {
+        CompletableFuture<Connection> future = new CompletableFuture<>();
+        try {
+            fireBeforeConnectionAcquire( dataSource );
+            long metricsStamp = dataSource.metricsRegistry().beforeConnectionAcquire();
+            Thread requestingThread = Thread.currentThread();
+
+            ConnectionWrapper connectionWrapper = wrapperFromTransaction();
+            if ( connectionWrapper != null ) {
+                // a lazy connection may not be bound to a handler yet
+                if ( connectionWrapper.getHandler() != null ) {
+                    afterAcquire( connectionWrapper.getHandler(), metricsStamp, requestingThread );
+                }
+                future.complete( connectionWrapper );
+                return future;
+            }
+
+            acquireAsync( future, metricsStamp, requestingThread );
+        } catch ( SQLException e ) {
+            future.completeExceptionally( e );
+        }
+        return future;
+    }
+
+    private void acquireAsync(CompletableFuture<Connection> future, long metricsStamp, Thread requestingThread) throws SQLException {
+        ConnectionHandler handler = handlerFromLocalCache();
+        if ( handler == null && ( !fairAcquisition || !handOffQueue.hasWaiters() ) ) {
+            handler = handlerFromArray( allConnections.getUnderlyingArray() );
+        }
+        if ( handler != null ) {
+            completeValidated( future, handler, metricsStamp, requestingThread );
+            return;
+        }
+
+        // The future may be completed by any thread, so the connection is not associated with a transaction
+        HandOffQueue.Waiter<ConnectionHandler> waiter = handOffQueue.enqueue( h -> completeAsync( () -> completeAcquisition( future, h, metricsStamp, requestingThread ) ) );
+
+        // A connection may have been checked in before the waiter was visible on the queue
+        handler = handlerFromArray( allConnections.getUnderlyingArray() );
+        if ( handler != null ) {
+            if ( handOffQueue.cancel( waiter ) ) {
+                completeValidated( future, handler, metricsStamp, requestingThread );
+                return;
+            }
+            checkIn( handler );
+        }
+        if ( canCreateConnection() ) {
+            // without an acquisition timeout nothing else would complete the future
+            newConnectionHandler( e -> {
+                if ( handOffQueue.cancel( waiter ) ) {
+                    completeAsync( () -> future.completeExceptionally( new SQLException( "Exception while creating new connection", e ) ) );
+                }
+            } );
         }
-        if ( checkedOutHandler == null ) {
-            checkedOutHandler = handlerFromSharedCache();
+
+        long timeout = configuration.acquisitionTimeout().toNanos();
+        if ( timeout > 0 && !future.isDone() ) {
+            Future<?> timeoutTask = housekeepingExecutor.schedule( () -> {
+                if ( handOffQueue.cancel( waiter ) ) {
+                    completeAsync( () -> future.completeExceptionally( new SQLException( "Sorry, acquisition timeout!" ) ) );
+                }
+            }, timeout, NANOSECONDS );
+            future.whenComplete( (c, t) -> timeoutTask.cancel( false ) );
         }
+    }
 
+    private void completeValidated(CompletableFuture<Connection> future, ConnectionHandler handler, long metricsStamp, Thread requestingThread) {
+        if ( !isIdle( handler ) ) {
+            completeAcquisition( future, handler, metricsStamp, requestingThread );
+            return;
+        }
+        // the validation may block, so it does not run on the thread of the caller
+        try {
+            validationExecutor.executeNow( () -> {
+                if ( validateOnAcquire( handler ) ) {
+                    completeAsync( () -> completeAcquisition( future, handler, metricsStamp, requestingThread ) );
+                } else {
+                    // the invalid connection was destroyed, try again
+                    completeAsync( () -> {
+                        try {
+                            acquireAsync( future, metricsStamp, requestingThread );
+                        } catch ( SQLException e ) {
+                            future.completeExceptionally( e );
+                        }
+                    } );
+                }
+            } );
+        } catch ( RuntimeException e ) {
+            // the pool is closing
+            checkIn( handler );
+            future.completeExceptionally( e );
+        }
+    }
+
+    private void completeAcquisition(CompletableFuture<Connection> future, ConnectionHandler handler, long metricsStamp, Thread requestingThread) {
+        try {
+            afterAcquire( handler, metricsStamp, requestingThread );
+        } catch ( RuntimeException e ) {
+            // the handler never reached the caller, so it's given back here
+            checkIn( handler );
+            future.completeExceptionally( e );
+            return;
+        }
+        ConnectionWrapper connectionWrapper = new ConnectionWrapper( handler, interruptProtection );
+        if ( !future.complete( connectionWrapper ) ) {
+            // cancelled by the caller in the meantime
+            try {
+                connectionWrapper.close();
+            } catch ( SQLException e ) {
+                fireOnWarning( dataSource, e );
+            }
+        }
+    }
+
+    private static void completeAsync(Runnable completion) {
+        // The dependent stages of the caller must not run on the thread that hands off the connection. It may be a
+        // pool thread, that the caller could end up waiting for.
+        CompletableFuture.runAsync( completion );
+    }
+
+    /**
+     * Acquires all the requested connections or none. Partial reservations are released while waiting, so that concurrent
+     * callers can not deadlock each other. The connections are not associated with a transaction.
+     */
+    public List<Connection> getConnections(int n, Duration timeout) throws SQLException {
+        if ( n <= 0 ) {
+            throw new SQLException( "Invalid number of connections requested: " + n );
+        }
+        if ( n > configuration.maxSize() ) {
+            throw new SQLException( "Requested " + n + " connections from a pool with max size " + configuration.maxSize() );
+        }
+        if ( transactionIntegration.getConnection() != null ) {
+            throw new SQLException( "Unable to acquire multiple connections while enlisted in a transaction" );
+        }
+        long[] metricsStamps = new long[n];
+        for ( int i = 0; i < n; i++ ) {
+            fireBeforeConnectionAcquire( dataSource );
+            metricsStamps[i] = dataSource.metricsRegistry().beforeConnectionAcquire();
+        }
+
+        ConnectionHandler[] reserved = new ConnectionHandler[n];
+        long remaining = timeout.toNanos();
+        remaining = remaining > 0 ? remaining : MAX_VALUE;
+        try {
+            for ( ; ; ) {
+                long synchronizationStamp = synchronizer.getStamp();
+                int count = reserveFromArray( allConnections.getUnderlyingArray(), reserved, 0 );
+                if ( count < n && canCreateConnection() ) {
+                    List<Future<?>> creations = new ArrayList<>( n - count );
+                    for ( int i = count; i < n; i++ ) {
+                        creations.add( newConnectionHandler() );
+                    }
+                    for ( Future<?> creation : creations ) {
+                        creation.get();
+                    }
+                    count = reserveFromArray( allConnections.getUnderlyingArray(), reserved, count );
+                }
+                if ( count == n ) {
+                    break;
+                }
+
+                // Release the partial reservation. Each check in advances the synchronizer stamp by one.
+                releaseReservation( reserved );
+                long start = nanoTime();
+                if ( remaining < 0 || !synchronizer.tryAcquireNanos( synchronizationStamp + count, remaining ) ) {
+                    throw new SQLException( "Sorry, acquisition timeout!" );
+                }
+                remaining -= nanoTime() - start;
+            }
+        } catch ( InterruptedException e ) {
+            releaseReservation( reserved );
+            Thread.currentThread().interrupt();
+            throw new SQLException( "Interrupted while acquiring" );
+        } catch ( ExecutionException e ) {
+            releaseReservation( reserved );
+            throw new SQLException( "Exception while creating new connection", e );
+        }
+
+        List<Connection> connections = new ArrayList<>( n );
+        for ( int i = 0; i < n; i++ ) {
+            afterAcquire( reserved[i], metricsStamps[i], Thread.currentThread() );
+            connections.add( new ConnectionWrapper( reserved[i], interruptProtection ) );
+        }
+        return connections;
+    }
+
+    private void releaseReservation(ConnectionHandler[] reserved) {
+        for ( int i = 0; i < reserved.length && reserved[i] != null; i++ ) {
+            checkIn( reserved[i] );
+            reserved[i] = null;
+        }
+    }
+
+    private int reserveFromArray(ConnectionHandler[] handlers, ConnectionHandler[] reserved, int count) {
+        for ( int i = 0; i < handlers.length && count < reserved.length; i++ ) {
+            if ( handlers[i].setState( CHECKED_IN, CHECKED_OUT ) && validateOnAcquire( handlers[i] ) ) {
+                reserved[count++] = handlers[i];
+            }
+        }
+        return count;
+    }
+
+    private void afterAcquire(ConnectionHandler handler, long metricsStamp, Thread holdingThread) {
         dataSource.metricsRegistry().afterConnectionAcquire( metricsStamp );
-        fireOnConnectionAcquired( dataSource, checkedOutHandler );
+        handler.setHoldTimestamp( dataSource.metricsRegistry().beforeConnectionHold() );
+        handler.setHoldingSite( dataSource.metricsRegistry().sampleCallSite() );
+        if ( adaptiveFill ) {
+            acquisitionCounter.increment();
+        }
+        fireOnConnectionAcquired( dataSource, handler );
 
         if ( leakEnabled || reapEnable ) {
-            checkedOutHandler.setLastAccess( nanoTime() );
+            handler.setLastAccess( nanoTime() );
         }
         if ( leakEnabled ) {
-            checkedOutHandler.setHoldingThread( Thread.currentThread() );
+            handler.setHoldingThread( holdingThread );
+        }
+    }
+
+    // connections used recently are assumed to be valid, so that busy connections never pay for validation
+    private boolean isIdle(ConnectionHandler handler) {
+        return idleValidationEnable && nanoTime() - handler.getLastAccess() >= configuration.idleValidationTimeout().toNanos();
+    }
+
+    private boolean validateOnAcquire(ConnectionHandler handler) {
+        if ( !isIdle( handler ) ) {
+            return true;
         }
 
-        if ( connectionWrapper == null ) {
-            connectionWrapper = new ConnectionWrapper( checkedOutHandler, interruptProtection );
-            transactionIntegration.associate( connectionWrapper );
+        fireOnConnectionValidation( dataSource, handler );
+        long metricsStamp = dataSource.metricsRegistry().beforeConnectionValidation();
+        boolean valid = configuration.idleValidator().isValid( handler.getConnection() );
+        dataSource.metricsRegistry().afterConnectionValidation( metricsStamp );
+
+        if ( valid ) {
+            handler.setLastAccess( nanoTime() );
+        } else if ( handler.setState( CHECKED_OUT, FLUSH ) ) {
+            allConnections.remove( handler );
+            destroyFlushed( handler );
         }
-        return connectionWrapper;
+        return valid;
     }
 
     private ConnectionWrapper wrapperFromTransaction() throws SQLException {
@@ -205,9 +557,14 @@ public class ConnectionPool implements AutoCloseable {
     }
 
     private ConnectionHandler handlerFromLocalCache() throws SQLException {
-        UncheckedArrayList<ConnectionHandler> cachedConnections = localCache.get();
-        while ( !cachedConnections.isEmpty() ) {
-            ConnectionHandler handler = cachedConnections.removeLast();
+        if ( fairAcquisition && handOffQueue.hasWaiters() ) {
+            return null;
+        }
+        if ( VirtualThreads.isVirtual( Thread.currentThread() ) ) {
+            return handlerFromStripedCache();
+        }
+        BoundedLocalCache<ConnectionHandler> cachedConnections = localCache.get();
+        for ( ConnectionHandler handler; ( handler = cachedConnections.removeLast( localCacheEpoch ) ) != null; ) {
             if ( handler.setState( CHECKED_IN, CHECKED_OUT ) ) {
                 return handler;
             }
@@ -215,21 +572,40 @@ public class ConnectionPool implements AutoCloseable {
         return null;
     }
 
+    private ConnectionHandler handlerFromStripedCache() {
+        if ( stripedCache.length() == 0 ) {
+            return null;
+        }
+        int length = stripedCache.length();
+        int start = ThreadLocalRandom.current().nextInt( length );
+        for ( int i = 0; i < length; i++ ) {
+            ConnectionHandler handler = stripedCache.get( ( start + i ) % length );
+            if ( handler != null && handler.setState( CHECKED_IN, CHECKED_OUT ) ) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
     private ConnectionHandler handlerFromSharedCache() throws SQLException {
         long remaining = configuration.acquisitionTimeout().toNanos();
         remaining = remaining > 0 ? remaining : MAX_VALUE;
         try {
             for ( ; ; ) {
                 long synchronizationStamp = synchronizer.getStamp();
-                for ( ConnectionHandler handler : allConnections.getUnderlyingArray() ) {
-                    if ( handler.setState( CHECKED_IN, CHECKED_OUT ) ) {
+                if ( !fairAcquisition || !handOffQueue.hasWaiters() ) {
+                    ConnectionHandler handler = handlerFromArray( allConnections.getUnderlyingArray() );
+                    if ( handler != null ) {
                         return handler;
                     }
                 }
-                if ( allConnections.size() < configuration.maxSize() ) {
+                if ( canCreateConnection() ) {
                     newConnectionHandler().get();
                     continue;
                 }
+                if ( fairAcquisition ) {
+                    return handlerFromHandOff( remaining );
+                }
                 long start = nanoTime();
                 if ( remaining < 0 || !synchronizer.tryAcquireNanos( synchronizationStamp, remaining ) ) {
                     throw new SQLException( "Sorry, acquisition timeout!" );
@@ -243,22 +619,124 @@ public class ConnectionPool implements AutoCloseable {
         }
     }
 
+    private ConnectionHandler handlerFromHandOff(long remaining) throws SQLException, InterruptedException {
+        HandOffQueue.Waiter<ConnectionHandler> waiter = handOffQueue.enqueue();
+
+        // A connection may have been checked in before the waiter was visible on the queue
+        ConnectionHandler handler = handlerFromArray( allConnections.getUnderlyingArray() );
+        if ( handler != null ) {
+            if ( handOffQueue.cancel( waiter ) ) {
+                return handler;
+            }
+            // Got a connection handed over in the meantime. Give the other one back.
+            checkIn( handler );
+        }
+
+        handler = handOffQueue.await( waiter, remaining );
+        if ( handler == null ) {
+            throw new SQLException( "Sorry, acquisition timeout!" );
+        }
+        return handler;
+    }
+
+    private ConnectionHandler handlerFromArray(ConnectionHandler[] handlers) {
+        // Start on the stripe of the current thread and steal from the other stripes after that
+        int start = stripeOffset( handlers.length );
+        for ( int i = start; i < handlers.length; i++ ) {
+            if ( handlers[i].setState( CHECKED_IN, CHECKED_OUT ) ) {
+                return handlers[i];
+            }
+        }
+        for ( int i = 0; i < start; i++ ) {
+            if ( handlers[i].setState( CHECKED_IN, CHECKED_OUT ) ) {
+                return handlers[i];
+            }
+        }
+        return null;
+    }
+
+    private int stripeOffset(int length) {
+        if ( acquisitionStripes <= 1 || length <= 1 ) {
+            return 0;
+        }
+        int stripe = probe() % acquisitionStripes;
+        return (int) ( (long) stripe * length / acquisitionStripes );
+    }
+
+    private static int probe() {
+        // The thread id is mixed to get a stable, well distributed, probe for each thread
+        return (int) ( ( Thread.currentThread().getId() * 0x9E3779B97F4A7C15L ) >>> 33 );
+    }
+
     // --- //
 
     public void returnConnection(ConnectionHandler handler) throws SQLException {
+        dataSource.metricsRegistry().afterConnectionHold( handler.getHoldTimestamp(), handler.getHoldingSite() );
+        handler.setHoldingSite( null );
         if ( leakEnabled ) {
             handler.setHoldingThread( null );
         }
-        if ( reapEnable ) {
+        if ( reapEnable || idleValidationEnable ) {
             handler.setLastAccess( nanoTime() );
         }
         if ( transactionIntegration.disassociate( handler.getConnection() ) ) {
 
             fireOnConnectionReturn( dataSource, handler );
 
-            localCache.get().add( handler );
-            handler.setState( CHECKED_IN );
-            synchronizer.release( 1 );
+            if ( handler.getState() == FLUSH ) {
+                // evicted while in use
+                destroyFlushed( handler );
+                return;
+            }
+
+            // Hand over to the longest waiting thread, keeping the connection CHECKED_OUT
+            if ( handOffQueue.handOff( handler ) ) {
+                return;
+            }
+
+            if ( VirtualThreads.isVirtual( Thread.currentThread() ) ) {
+                if ( stripedCache.length() != 0 ) {
+                    stripedCache.lazySet( ( System.identityHashCode( handler ) & Integer.MAX_VALUE ) % stripedCache.length(), handler );
+                }
+            } else {
+                localCache.get().add( handler, localCacheEpoch );
+            }
+            checkIn( handler );
+        }
+    }
+
+    void returnUnboundConnection(ConnectionWrapper wrapper) throws SQLException {
+        transactionIntegration.disassociate( wrapper );
+    }
+
+    private void checkIn(ConnectionHandler handler) {
+        if ( !handler.setState( CHECKED_OUT, CHECKED_IN ) ) {
+            // flushed while checked out
+            destroyFlushed( handler );
+            return;
+        }
+        transferToWaiter( handler );
+        synchronizer.release( 1 );
+    }
+
+    private void transferToWaiter(ConnectionHandler handler) {
+        // Waiters may have been queued after the last hand off attempt
+        while ( handOffQueue.hasWaiters() && handler.setState( CHECKED_IN, CHECKED_OUT ) ) {
+            if ( handOffQueue.handOff( handler ) ) {
+                return;
+            }
+            if ( !handler.setState( CHECKED_OUT, CHECKED_IN ) ) {
+                // flushed in the meantime
+                destroyFlushed( handler );
+                return;
+            }
+        }
+    }
+
+    private void purgeLocalCache() {
+        localCacheEpochUpdater.incrementAndGet( this );
+        for ( int i = 0; i < stripedCache.length(); i++ ) {
+            stripedCache.lazySet( i, null );
         }
     }
 
@@ -270,6 +748,64 @@ public class ConnectionPool implements AutoCloseable {
         }
     }
 
+    // --- eviction //
+
+    void checkException(ConnectionHandler handler, SQLException exception) {
+        if ( configuration.exceptionSorter().isFatal( exception ) ) {
+            fireOnWarning( dataSource, exception );
+
+            // the other connections to the database are likely broken as well, but not the replacements created from now on
+            ConnectionHandler[] handlers = allConnections.getUnderlyingArray();
+            evict( handler );
+            if ( configuration.flushMode() != FAILING && flushPending.compareAndSet( false, true ) ) {
+                housekeepingExecutor.executeNow( new FlushTask( handlers ) );
+            }
+        }
+    }
+
+    void evict(ConnectionHandler handler) {
+        // the connection is in use, so it's only destroyed when returned. a replacement is created right away
+        if ( handler.setState( CHECKED_OUT, FLUSH ) ) {
+            allConnections.remove( handler );
+            newConnectionHandler();
+        }
+    }
+
+    private void destroyFlushed(ConnectionHandler handler) {
+        closeConnectionSafely( handler );
+        dataSource.metricsRegistry().afterConnectionClose();
+        handler.setState( DESTROYED );
+    }
+
+    private class FlushTask implements Runnable {
+
+        private ConnectionHandler[] handlers;
+
+        public FlushTask(ConnectionHandler[] handlers) {
+            this.handlers = handlers;
+        }
+
+        @Override
+        public void run() {
+            flushPending.set( false );
+
+            for ( ConnectionHandler handler : handlers ) {
+                if ( handler.setState( CHECKED_IN, FLUSH ) ) {
+                    allConnections.remove( handler );
+                    destroyFlushed( handler );
+                } else if ( configuration.flushMode() == ALL && handler.setState( CHECKED_OUT, FLUSH ) ) {
+                    // destroyed when returned
+                    allConnections.remove( handler );
+                } else {
+                    continue;
+                }
+
+                // replacements are created concurrently, while the flush goes on
+                newConnectionHandler();
+            }
+        }
+    }
+
     // --- Exposed statistics //
 
     private long activeCount(ConnectionHandler[] handlers) {
@@ -300,119 +836,208 @@ public class ConnectionPool implements AutoCloseable {
     }
 
     public long awaitingCount() {
-        return synchronizer.getQueueLength();
+        return synchronizer.getQueueLength() + handOffQueue.getQueueLength();
     }
 
-    // --- leak detection //
+    public SqlMetadataCache sqlMetadataCache() {
+        return sqlMetadataCache;
+    }
+
+    // --- adaptive fill //
+
+    private class AdaptiveFillTask implements Runnable {
 
-    private class LeakTask implements Runnable {
+        // exponentially weighted average of the number of acquisitions per period
+        private double averageAcquisitions = 0;
 
         @Override
         public void run() {
-            for ( ConnectionHandler handler : allConnections.getUnderlyingArray() ) {
-                housekeepingExecutor.submit( new LeakConnectionTask( handler ) );
+            long acquisitions = acquisitionCounter.sumThenReset();
+            double previousAverage = averageAcquisitions;
+            averageAcquisitions += ( acquisitions - averageAcquisitions ) / 2;
+
+            // When the rate is ramping up the connections in use are expected to grow in the same proportion
+            double growth = previousAverage < 1 ? 1 : Math.min( Math.max( acquisitions / previousAverage, 1 ), 2 );
+            long demand = activeCount() + awaitingCount();
+
+            // While there is traffic keep one spare connection, so that the next request does not block on the creation of a new one
+            long spare = acquisitions > 0 ? 1 : 0;
+            long target = Math.min( Math.max( (long) Math.ceil( demand * growth ) + spare, configuration.minSize() ), configuration.maxSize() );
+            for ( long missing = target - allConnections.size() - creatingCount.get(); missing > 0; missing-- ) {
+                newConnectionHandler();
             }
-            housekeepingExecutor.schedule( this, configuration.leakTimeout().toNanos(), NANOSECONDS );
+            housekeepingExecutor.schedule( this, ADAPTIVE_FILL_PERIOD_MS, MILLISECONDS );
         }
+    }
+
+    // --- housekeeping //
+
+    private void scheduleHousekeeping(ConnectionHandler handler) {
+        long now = nanoTime();
+        if ( leakEnabled ) {
+            timingWheel.schedule( new LeakTimeout( handler ), now + configuration.leakTimeout().toNanos() );
+        }
+        if ( validationEnable ) {
+            timingWheel.schedule( new ValidationTimeout( handler ), now + validationDelay() );
+        }
+        if ( reapEnable ) {
+            timingWheel.schedule( new ReapTimeout( handler ), now + configuration.reapTimeout().toNanos() );
+        }
+    }
+
+    // --- leak detection //
 
-        private class LeakConnectionTask implements Runnable {
+    private class LeakTimeout extends TimingWheel.Timeout {
 
-            private ConnectionHandler handler;
+        private ConnectionHandler handler;
 
-            public LeakConnectionTask(ConnectionHandler handler) {
-                this.handler = handler;
+        public LeakTimeout(ConnectionHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        protected void expire(long now) {
+            if ( handler.getState() == DESTROYED ) {
+                return;
             }
 
-            @Override
-            public void run() {
-                Thread thread = handler.getHoldingThread();
-                if ( thread != null && nanoTime() - handler.getLastAccess() > configuration.leakTimeout().toNanos() ) {
-                    fireOnConnectionLeak( dataSource, handler );
-                }
+            Thread thread = handler.getHoldingThread();
+            if ( thread != null && now - handler.getLastAccess() > configuration.leakTimeout().toNanos() ) {
+                fireOnConnectionLeak( dataSource, handler );
             }
+            timingWheel.schedule( this, now + configuration.leakTimeout().toNanos() );
         }
     }
 
     // --- validation //
 
-    private class ValidationTask implements Runnable {
+    private long validationDelay() {
+        // Jitter keeps connections created together from being validated together
+        long interval = configuration.validationTimeout().toNanos();
+        return interval - ThreadLocalRandom.current().nextLong( interval / 4 + 1 );
+    }
 
-        @Override
-        public void run() {
-            for ( ConnectionHandler handler : allConnections.getUnderlyingArray() ) {
-                housekeepingExecutor.submit( new ValidateConnectionTask( handler ) );
+    private void validationSweep() {
+        for ( ValidationTimeout timeout; ( timeout = nextPendingValidation() ) != null; ) {
+            timeout.validate();
+        }
+    }
+
+    private void enqueueValidation(ValidationTimeout timeout) {
+        boolean newSweep;
+        synchronized ( pendingValidations ) {
+            pendingValidations.add( timeout );
+            newSweep = runningValidationSweeps < configuration.validationConcurrency();
+            if ( newSweep ) {
+                runningValidationSweeps++;
+            }
+        }
+        if ( newSweep ) {
+            validationExecutor.execute( validationSweep );
+        }
+    }
+
+    private ValidationTimeout nextPendingValidation() {
+        synchronized ( pendingValidations ) {
+            ValidationTimeout timeout = pendingValidations.poll();
+            if ( timeout == null ) {
+                runningValidationSweeps--;
             }
-            housekeepingExecutor.schedule( this, configuration.validationTimeout().toNanos(), NANOSECONDS );
+            return timeout;
         }
+    }
+
+    private class ValidationTimeout extends TimingWheel.Timeout {
 
-        private class ValidateConnectionTask implements Runnable {
+        private ConnectionHandler handler;
 
-            private ConnectionHandler handler;
+        // slot reserved under the max validation rate, zero if none
+        private long slot;
+
+        public ValidationTimeout(ConnectionHandler handler) {
+            this.handler = handler;
+        }
 
-            public ValidateConnectionTask(ConnectionHandler handler) {
-                this.handler = handler;
+        @Override
+        protected void expire(long now) {
+            if ( handler.getState() == DESTROYED ) {
+                return;
             }
 
-            @Override
-            public void run() {
-                fireOnConnectionValidation( dataSource, handler );
+            if ( validationSpacing > 0 && slot == 0 ) {
+                slot = Math.max( nextValidationSlot, now );
+                nextValidationSlot = slot + validationSpacing;
+                if ( slot > now ) {
+                    timingWheel.schedule( this, slot );
+                    return;
+                }
+            }
+            slot = 0;
+            enqueueValidation( this );
+        }
 
-                if ( handler.setState( CHECKED_IN, VALIDATION ) ) {
-                    if ( configuration.connectionValidator().isValid( handler.getConnection() ) ) {
-                        handler.setState( CHECKED_IN );
-                        //System.out.println( "Valid connection " + handler.getConnection() );
-                    } else {
-                        handler.setState( FLUSH );
-                        closeConnectionSafely( handler );
-                        dataSource.metricsRegistry().afterConnectionClose();
-                        handler.setState( DESTROYED );
-                        allConnections.remove( handler );
-                    }
+        private void validate() {
+            fireOnConnectionValidation( dataSource, handler );
+
+            if ( handler.setState( CHECKED_IN, VALIDATION ) ) {
+                long metricsStamp = dataSource.metricsRegistry().beforeConnectionValidation();
+                boolean valid = configuration.connectionValidator().isValid( handler.getConnection() );
+                dataSource.metricsRegistry().afterConnectionValidation( metricsStamp );
+
+                if ( valid ) {
+                    handler.setState( CHECKED_IN );
+                } else {
+                    handler.setState( FLUSH );
+                    closeConnectionSafely( handler );
+                    dataSource.metricsRegistry().afterConnectionClose();
+                    handler.setState( DESTROYED );
+                    allConnections.remove( handler );
+                    purgeLocalCache();
+                    return;
                 }
             }
+            timingWheel.schedule( this, nanoTime() + validationDelay() );
         }
     }
 
     // --- reap //
 
-    private class ReapTask implements Runnable {
+    private class ReapTimeout extends TimingWheel.Timeout {
 
-        @Override
-        public void run() {
-            // TODO Clear thread-local connection cache
-            // localCache = ThreadLocal.withInitial( () -> new UncheckedArrayList<ConnectionHandler>( ConnectionHandler.class ) ) );
+        private ConnectionHandler handler;
 
-            for ( ConnectionHandler handler : allConnections ) {
-                housekeepingExecutor.submit( new ReapConnectionTask( handler ) );
-            }
-            housekeepingExecutor.schedule( this, configuration.reapTimeout().toNanos(), NANOSECONDS );
+        public ReapTimeout(ConnectionHandler handler) {
+            this.handler = handler;
         }
 
-        private class ReapConnectionTask implements Runnable {
-
-            private ConnectionHandler handler;
-
-            public ReapConnectionTask(ConnectionHandler handler) {
-                this.handler = handler;
+        @Override
+        protected void expire(long now) {
+            if ( handler.getState() == DESTROYED ) {
+                return;
             }
 
-            @Override
-            public void run() {
-                if ( allConnections.size() > configuration.minSize() && handler.setState( CHECKED_IN, FLUSH ) ) {
-                    if ( nanoTime() - handler.getLastAccess() > configuration.reapTimeout().toNanos() ) {
+            long reapTimeout = configuration.reapTimeout().toNanos();
+            if ( allConnections.size() > configuration.minSize() && handler.setState( CHECKED_IN, FLUSH ) ) {
+                if ( now - handler.getLastAccess() > reapTimeout ) {
 
-                        fireOnConnectionTimeout( dataSource, handler );
+                    fireOnConnectionTimeout( dataSource, handler );
 
-                        closeConnectionSafely( handler );
-                        handler.setState( DESTROYED );
-                        allConnections.remove( handler );
-                        dataSource.metricsRegistry().afterConnectionTimeout();
-                    } else {
-                        handler.setState( CHECKED_IN );
-                        // System.out.println( "Connection " + handler.getConnection() + " used recently. Do not reap!" );
-                    }
+                    closeConnectionSafely( handler );
+                    handler.setState( DESTROYED );
+                    allConnections.remove( handler );
+                    dataSource.metricsRegistry().afterConnectionTimeout();
+
+                    // Drop references to idle connections held on thread-local caches
+                    purgeLocalCache();
+                    return;
+                } else {
+                    handler.setState( CHECKED_IN );
                 }
             }
+
+            // An idle connection is checked again when it reaches the timeout, any other after a full period
+            long idleDeadline = handler.getLastAccess() + reapTimeout;
+            timingWheel.schedule( this, idleDeadline - now > 0 ? idleDeadline : now + reapTimeout );
         }
     }
 }
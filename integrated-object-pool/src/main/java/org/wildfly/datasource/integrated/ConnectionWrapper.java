@@ -26,6 +26,8 @@ import org.wildfly.datasource.api.configuration.InterruptProtection;
 import org.wildfly.datasource.api.tx.TransactionAware;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Array;
 import java.sql.Blob;
@@ -42,50 +44,104 @@ import java.sql.SQLXML;
 import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Struct;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
 
+import static org.wildfly.datasource.integrated.ConnectionHandler.AUTOCOMMIT;
+import static org.wildfly.datasource.integrated.ConnectionHandler.CATALOG;
+import static org.wildfly.datasource.integrated.ConnectionHandler.HOLDABILITY;
+import static org.wildfly.datasource.integrated.ConnectionHandler.NETWORK_TIMEOUT;
+import static org.wildfly.datasource.integrated.ConnectionHandler.READ_ONLY;
+import static org.wildfly.datasource.integrated.ConnectionHandler.SCHEMA;
+import static org.wildfly.datasource.integrated.ConnectionHandler.TRANSACTION_ISOLATION;
+
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
 public class ConnectionWrapper implements Connection, TransactionAware {
 
-    private final ConnectionHandler handler;
+    private ConnectionHandler handler;
     private final InterruptProtection interruptProtection;
     private Connection wrappedConnection;
 
+    // statements from the cache are returned to it when the connection is closed, the others are closed
+    private StatementCache statementCache;
+    private List<Statement> trackedStatements;
+
+    // shared by all the connections of the pool, null when disabled
+    private SqlMetadataCache sqlMetadataCache;
+
     private boolean inTransaction;
     private boolean autocommitCache;
 
+    // attributes changed on the connection, to be restored when it's returned
+    private int dirtyAttributes;
+
+    // for lazy acquisition, the handler is only checked out from this pool when first needed
+    private final ConnectionPool connectionPool;
+    private LazyState lazyState;
+
     public ConnectionWrapper(ConnectionHandler connectionHandler, InterruptProtection protection) {
         handler = connectionHandler;
         interruptProtection = protection;
         wrappedConnection = connectionHandler.getConnection();
+        statementCache = connectionHandler.getStatementCache();
+        sqlMetadataCache = connectionHandler.getSqlMetadataCache();
+        connectionPool = null;
+        inTransaction = false;
+    }
+
+    // the default transaction isolation is null when not configured, and then is only known once bound
+    public ConnectionWrapper(ConnectionPool pool, InterruptProtection protection, boolean defaultAutoCommit, Integer defaultTransactionIsolation) {
+        interruptProtection = protection;
+        connectionPool = pool;
+        lazyState = new LazyState( defaultAutoCommit, defaultTransactionIsolation );
+        wrappedConnection = (Connection) Proxy.newProxyInstance( Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, lazyState );
         inTransaction = false;
     }
 
     // --- //
 
     public void transactionBegin() throws SQLException {
-        autocommitCache = wrappedConnection.getAutoCommit();
-        wrappedConnection.setAutoCommit( false );
+        autocommitCache = getAutoCommit();
+        if ( autocommitCache ) {
+            setAutoCommit( false );
+        }
         inTransaction = true;
     }
 
     @Override
     public void transactionCommit() throws SQLException {
-        protect( () -> wrappedConnection.commit() );
+        try {
+            protect( () -> wrappedConnection.commit() );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void transactionRollback() throws SQLException {
-        protect( () -> wrappedConnection.rollback() );
+        try {
+            protect( () -> wrappedConnection.rollback() );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     public void transactionEnd() throws SQLException {
         inTransaction = false;
-        wrappedConnection.setAutoCommit( autocommitCache );
+        if ( wrappedConnection == CLOSED_CONNECTION ) {
+            // closed during the transaction, the attributes were not restored then
+            if ( handler != null && dirtyAttributes != 0 ) {
+                handler.resetAttributes( dirtyAttributes );
+                dirtyAttributes = 0;
+            }
+        } else if ( autocommitCache ) {
+            setAutoCommit( true );
+        }
     }
 
     // --- //
@@ -100,14 +156,111 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     // --- //
 
+    // null for lazy connections not yet bound
     public ConnectionHandler getHandler() {
         return handler;
     }
 
+    // the handler keeps the state of the connection. false when closed, or when lazy and not yet bound
+    private boolean isBound() {
+        return handler != null && wrappedConnection != CLOSED_CONNECTION;
+    }
+
+    private void markDirty(int attribute) throws SQLException {
+        if ( wrappedConnection == CLOSED_CONNECTION ) {
+            throw new SQLException( "Connection is closed" );
+        }
+        // lazy connections record the attributes until bound
+        if ( ( dirtyAttributes & attribute ) == 0 && handler != null ) {
+            handler.captureDefault( attribute );
+            dirtyAttributes |= attribute;
+        }
+    }
+
+    // statements are created on the physical connection, so that they are wrapped only once
+    private void bindIfUnbound() throws SQLException {
+        if ( handler == null && lazyState != null ) {
+            bind();
+        }
+    }
+
+    private boolean statementCacheEnabled() throws SQLException {
+        // the statement cache belongs to the handler
+        bindIfUnbound();
+        return statementCache != null;
+    }
+
+    private StatementCache.Key statementKey(boolean callable, String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) {
+        return StatementCache.Key.statement( callable, sql, resultSetType, resultSetConcurrency, resultSetHoldability );
+    }
+
+    private StatementCache.Key generatedKeysStatementKey(String sql, int autoGeneratedKeys, int[] columnIndexes, String[] columnNames) {
+        if ( sqlMetadataCache == null ) {
+            // the key keeps a copy, as the arrays may be modified afterwards
+            return StatementCache.Key.generatedKeys( sql, autoGeneratedKeys, columnIndexes == null ? null : columnIndexes.clone(), columnNames == null ? null : columnNames.clone() );
+        }
+        SqlMetadataCache.SqlMetadata metadata = sqlMetadataCache.get( sql );
+        int[] indexes = columnIndexes == null ? null : metadata.canonical( columnIndexes );
+        String[] names = columnNames == null ? null : metadata.canonical( columnNames );
+        return StatementCache.Key.generatedKeys( sql, autoGeneratedKeys, indexes, names );
+    }
+
+    private PreparedStatement prepareCachedStatement(StatementCache.Key key) throws SQLException {
+        if ( wrappedConnection == CLOSED_CONNECTION ) {
+            throw new SQLException( "Connection is closed" );
+        }
+        PreparedStatement statement = statementCache.take( key );
+        if ( statement == null ) {
+            statement = key.prepare( wrappedConnection );
+        }
+        if ( key.isCallable() ) {
+            return trackStatement( new CallableStatementWrapper( this, statementCache, key, (CallableStatement) statement ) );
+        } else {
+            return trackStatement( new PreparedStatementWrapper( this, statementCache, key, statement ) );
+        }
+    }
+
+    private <T extends Statement> T trackStatement(T wrapper) {
+        if ( trackedStatements == null ) {
+            trackedStatements = new ArrayList<>();
+        }
+        trackedStatements.add( wrapper );
+        return wrapper;
+    }
+
+    void releaseStatement(Statement wrapper) {
+        trackedStatements.remove( wrapper );
+    }
+
     @Override
     public void close() throws SQLException {
+        if ( trackedStatements != null && !trackedStatements.isEmpty() ) {
+            for ( Statement statement : trackedStatements.toArray( new Statement[trackedStatements.size()] ) ) {
+                try {
+                    statement.close();
+                } catch ( SQLException ignore ) {
+                    // the connection must be returned to the pool anyway
+                }
+            }
+        }
         wrappedConnection = CLOSED_CONNECTION;
-        handler.returnConnection();
+        if ( handler != null ) {
+            try {
+                // the transaction is still using the connection, the attributes are restored when it ends
+                if ( dirtyAttributes != 0 && !inTransaction ) {
+                    handler.resetAttributes( dirtyAttributes );
+                    dirtyAttributes = 0;
+                }
+            } catch ( SQLException e ) {
+                // the state of the connection is unknown, so it can't be used again
+                handler.evict();
+                throw e;
+            } finally {
+                handler.returnConnection();
+            }
+        } else {
+            connectionPool.returnUnboundConnection( this );
+        }
     }
 
     @Override
@@ -117,10 +270,14 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     @Override
     public void commit() throws SQLException {
-        if ( inTransaction ) {
-            throw new SQLException( "Attempting to commit while enlisted in a transaction" );
+        try {
+            if ( inTransaction ) {
+                throw new SQLException( "Attempting to commit while enlisted in a transaction" );
+            }
+            protect( () -> wrappedConnection.commit() );
+        } catch ( SQLException e ) {
+            throw checkException( e );
         }
-        protect( () -> wrappedConnection.commit() );
     }
 
     @Override
@@ -130,80 +287,158 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     @Override
     public Clob createClob() throws SQLException {
-        return wrappedConnection.createClob();
+        try {
+            return wrappedConnection.createClob();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public Blob createBlob() throws SQLException {
-        return wrappedConnection.createBlob();
+        try {
+            return wrappedConnection.createBlob();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public NClob createNClob() throws SQLException {
-        return wrappedConnection.createNClob();
+        try {
+            return wrappedConnection.createNClob();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public SQLXML createSQLXML() throws SQLException {
-        return wrappedConnection.createSQLXML();
+        try {
+            return wrappedConnection.createSQLXML();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
-        return wrappedConnection.createArrayOf( typeName, elements );
+        try {
+            return wrappedConnection.createArrayOf( typeName, elements );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public Statement createStatement() throws SQLException {
-        return wrappedConnection.createStatement();
+        try {
+            bindIfUnbound();
+            return trackStatement( new StatementWrapper( this, wrappedConnection.createStatement() ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
-        return wrappedConnection.createStatement( resultSetType, resultSetConcurrency );
+        try {
+            bindIfUnbound();
+            return trackStatement( new StatementWrapper( this, wrappedConnection.createStatement( resultSetType, resultSetConcurrency ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        return wrappedConnection.createStatement( resultSetType, resultSetConcurrency, resultSetHoldability );
+        try {
+            bindIfUnbound();
+            return trackStatement( new StatementWrapper( this, wrappedConnection.createStatement( resultSetType, resultSetConcurrency, resultSetHoldability ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
-        return wrappedConnection.createStruct( typeName, attributes );
+        try {
+            return wrappedConnection.createStruct( typeName, attributes );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public boolean getAutoCommit() throws SQLException {
-        return wrappedConnection.getAutoCommit();
+        try {
+            return isBound() ? handler.getAutoCommit() : wrappedConnection.getAutoCommit();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void setAutoCommit(boolean autoCommit) throws SQLException {
-        if ( autoCommit && inTransaction ) {
-            throw new SQLException( "Trying to set autocommit in connection taking part of transaction" );
+        try {
+            if ( autoCommit && inTransaction ) {
+                throw new SQLException( "Trying to set autocommit in connection taking part of transaction" );
+            }
+            if ( isBound() ) {
+                markDirty( AUTOCOMMIT );
+                handler.setAutoCommit( autoCommit );
+            } else {
+                wrappedConnection.setAutoCommit( autoCommit );
+            }
+        } catch ( SQLException e ) {
+            throw checkException( e );
         }
-        wrappedConnection.setAutoCommit( autoCommit );
     }
 
     @Override
     public String getCatalog() throws SQLException {
-        return wrappedConnection.getCatalog();
+        try {
+            return isBound() ? handler.getCatalog() : wrappedConnection.getCatalog();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void setCatalog(String catalog) throws SQLException {
-        wrappedConnection.setCatalog( catalog );
+        try {
+            if ( isBound() ) {
+                markDirty( CATALOG );
+                handler.setCatalog( catalog );
+            } else {
+                wrappedConnection.setCatalog( catalog );
+            }
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public int getHoldability() throws SQLException {
-        return wrappedConnection.getHoldability();
+        try {
+            return isBound() ? handler.getHoldability() : wrappedConnection.getHoldability();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void setHoldability(int holdability) throws SQLException {
-        wrappedConnection.setHoldability( holdability );
+        try {
+            if ( isBound() ) {
+                markDirty( HOLDABILITY );
+                handler.setHoldability( holdability );
+            } else {
+                wrappedConnection.setHoldability( holdability );
+            }
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
@@ -223,22 +458,43 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     @Override
     public DatabaseMetaData getMetaData() throws SQLException {
-        return wrappedConnection.getMetaData();
+        try {
+            return wrappedConnection.getMetaData();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public int getNetworkTimeout() throws SQLException {
-        return wrappedConnection.getNetworkTimeout();
+        try {
+            return wrappedConnection.getNetworkTimeout();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public String getSchema() throws SQLException {
-        return wrappedConnection.getSchema();
+        try {
+            return isBound() ? handler.getSchema() : wrappedConnection.getSchema();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void setSchema(String schema) throws SQLException {
-        wrappedConnection.setSchema( schema );
+        try {
+            if ( isBound() ) {
+                markDirty( SCHEMA );
+                handler.setSchema( schema );
+            } else {
+                wrappedConnection.setSchema( schema );
+            }
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
@@ -253,12 +509,25 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     @Override
     public int getTransactionIsolation() throws SQLException {
-        return wrappedConnection.getTransactionIsolation();
+        try {
+            return isBound() ? handler.getTransactionIsolation() : wrappedConnection.getTransactionIsolation();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void setTransactionIsolation(int level) throws SQLException {
-        wrappedConnection.setTransactionIsolation( level );
+        try {
+            if ( isBound() ) {
+                markDirty( TRANSACTION_ISOLATION );
+                handler.setTransactionIsolation( level );
+            } else {
+                wrappedConnection.setTransactionIsolation( level );
+            }
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
@@ -273,12 +542,25 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     @Override
     public boolean isReadOnly() throws SQLException {
-        return wrappedConnection.isReadOnly();
+        try {
+            return isBound() ? handler.isReadOnly() : wrappedConnection.isReadOnly();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void setReadOnly(boolean readOnly) throws SQLException {
-        wrappedConnection.setReadOnly( readOnly );
+        try {
+            if ( isBound() ) {
+                markDirty( READ_ONLY );
+                handler.setReadOnly( readOnly );
+            } else {
+                wrappedConnection.setReadOnly( readOnly );
+            }
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
@@ -288,73 +570,155 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     @Override
     public String nativeSQL(String sql) throws SQLException {
-        return wrappedConnection.nativeSQL( sql );
+        try {
+            if ( sqlMetadataCache != null && wrappedConnection != CLOSED_CONNECTION ) {
+                return sqlMetadataCache.get( sql ).nativeSql( wrappedConnection );
+            }
+            return wrappedConnection.nativeSQL( sql );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public CallableStatement prepareCall(String sql) throws SQLException {
-        return wrappedConnection.prepareCall( sql );
+        try {
+            if ( statementCacheEnabled() ) {
+                return (CallableStatement) prepareCachedStatement( statementKey( true, sql, 0, 0, 0 ) );
+            }
+            return trackStatement( new CallableStatementWrapper( this, wrappedConnection.prepareCall( sql ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        return wrappedConnection.prepareCall( sql, resultSetType, resultSetConcurrency );
+        try {
+            if ( statementCacheEnabled() ) {
+                return (CallableStatement) prepareCachedStatement( statementKey( true, sql, resultSetType, resultSetConcurrency, 0 ) );
+            }
+            return trackStatement( new CallableStatementWrapper( this, wrappedConnection.prepareCall( sql, resultSetType, resultSetConcurrency ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        return wrappedConnection.prepareCall( sql, resultSetType, resultSetConcurrency, resultSetHoldability );
+        try {
+            if ( statementCacheEnabled() ) {
+                return (CallableStatement) prepareCachedStatement( statementKey( true, sql, resultSetType, resultSetConcurrency, resultSetHoldability ) );
+            }
+            return trackStatement( new CallableStatementWrapper( this, wrappedConnection.prepareCall( sql, resultSetType, resultSetConcurrency, resultSetHoldability ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
-        return wrappedConnection.prepareStatement( sql );
+        try {
+            if ( statementCacheEnabled() ) {
+                return prepareCachedStatement( statementKey( false, sql, 0, 0, 0 ) );
+            }
+            return trackStatement( new PreparedStatementWrapper( this, wrappedConnection.prepareStatement( sql ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        return wrappedConnection.prepareStatement( sql, resultSetType, resultSetConcurrency );
+        try {
+            if ( statementCacheEnabled() ) {
+                return prepareCachedStatement( statementKey( false, sql, resultSetType, resultSetConcurrency, 0 ) );
+            }
+            return trackStatement( new PreparedStatementWrapper( this, wrappedConnection.prepareStatement( sql, resultSetType, resultSetConcurrency ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        return wrappedConnection.prepareStatement( sql, resultSetType, resultSetConcurrency, resultSetHoldability );
+        try {
+            if ( statementCacheEnabled() ) {
+                return prepareCachedStatement( statementKey( false, sql, resultSetType, resultSetConcurrency, resultSetHoldability ) );
+            }
+            return trackStatement( new PreparedStatementWrapper( this, wrappedConnection.prepareStatement( sql, resultSetType, resultSetConcurrency, resultSetHoldability ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
-        return wrappedConnection.prepareStatement( sql, autoGeneratedKeys );
+        try {
+            if ( statementCacheEnabled() ) {
+                return prepareCachedStatement( generatedKeysStatementKey( sql, autoGeneratedKeys, null, null ) );
+            }
+            return trackStatement( new PreparedStatementWrapper( this, wrappedConnection.prepareStatement( sql, autoGeneratedKeys ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
-        return wrappedConnection.prepareStatement( sql, columnIndexes );
+        try {
+            if ( statementCacheEnabled() ) {
+                return prepareCachedStatement( generatedKeysStatementKey( sql, 0, columnIndexes, null ) );
+            }
+            return trackStatement( new PreparedStatementWrapper( this, wrappedConnection.prepareStatement( sql, columnIndexes ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
-        return wrappedConnection.prepareStatement( sql, columnNames );
+        try {
+            if ( statementCacheEnabled() ) {
+                return prepareCachedStatement( generatedKeysStatementKey( sql, 0, null, columnNames ) );
+            }
+            return trackStatement( new PreparedStatementWrapper( this, wrappedConnection.prepareStatement( sql, columnNames ) ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void releaseSavepoint(Savepoint savepoint) throws SQLException {
-        wrappedConnection.releaseSavepoint( savepoint );
+        try {
+            wrappedConnection.releaseSavepoint( savepoint );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void rollback() throws SQLException {
-        if ( inTransaction ) {
-            throw new SQLException( "Attempting to rollback while enlisted in a transaction" );
+        try {
+            if ( inTransaction ) {
+                throw new SQLException( "Attempting to rollback while enlisted in a transaction" );
+            }
+            protect( () -> wrappedConnection.rollback() );
+        } catch ( SQLException e ) {
+            throw checkException( e );
         }
-        protect( () -> wrappedConnection.rollback() );
     }
 
     @Override
     public void rollback(Savepoint savepoint) throws SQLException {
-        if ( inTransaction ) {
-            throw new SQLException( "Attempting to commit while enlisted in a transaction" );
+        try {
+            if ( inTransaction ) {
+                throw new SQLException( "Attempting to commit while enlisted in a transaction" );
+            }
+            protect( () -> wrappedConnection.rollback( savepoint ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
         }
-        protect( () -> wrappedConnection.rollback( savepoint ) );
     }
 
     @Override
@@ -364,17 +728,32 @@ public class ConnectionWrapper implements Connection, TransactionAware {
 
     @Override
     public Savepoint setSavepoint() throws SQLException {
-        return wrappedConnection.setSavepoint();
+        try {
+            return wrappedConnection.setSavepoint();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public Savepoint setSavepoint(String name) throws SQLException {
-        return wrappedConnection.setSavepoint( name );
+        try {
+            return wrappedConnection.setSavepoint( name );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     @Override
     public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
-        wrappedConnection.setNetworkTimeout( executor, milliseconds );
+        try {
+            // not recorded by lazy connections, the timeout is set on the physical connection
+            bindIfUnbound();
+            markDirty( NETWORK_TIMEOUT );
+            wrappedConnection.setNetworkTimeout( executor, milliseconds );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
     }
 
     // --- //
@@ -389,6 +768,183 @@ public class ConnectionWrapper implements Connection, TransactionAware {
         return wrappedConnection.isWrapperFor( iface );
     }
 
+    // --- fatal exceptions //
+
+    SQLException checkException(SQLException exception) {
+        // once closed, the handler may be in use by some other connection
+        if ( isBound() ) {
+            handler.checkException( exception );
+        }
+        return exception;
+    }
+
+    // --- lazy acquisition //
+
+    private void bind() throws SQLException {
+        if ( wrappedConnection == CLOSED_CONNECTION ) {
+            throw new SQLException( "Connection is closed" );
+        }
+        handler = connectionPool.checkOut();
+        wrappedConnection = handler.getConnection();
+        statementCache = handler.getStatementCache();
+        sqlMetadataCache = handler.getSqlMetadataCache();
+
+        LazyState state = lazyState;
+        lazyState = null;
+        state.applyTo( handler );
+    }
+
+    /**
+     * Stands in for the physical connection until one is needed. The state set before that is recorded and applied on bind.
+     */
+    private final class LazyState implements InvocationHandler {
+
+        private boolean autoCommit;
+        private boolean autoCommitSet;
+        private Integer transactionIsolation, holdability;
+        private boolean transactionIsolationSet;
+        private Boolean readOnly;
+        private String catalog, schema;
+        private boolean catalogSet, schemaSet;
+
+        private LazyState(boolean defaultAutoCommit, Integer defaultTransactionIsolation) {
+            autoCommit = defaultAutoCommit;
+            transactionIsolation = defaultTransactionIsolation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch ( method.getName() ) {
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    autoCommitSet = true;
+                    return null;
+                case "getTransactionIsolation":
+                    if ( transactionIsolation != null ) {
+                        return transactionIsolation;
+                    }
+                    break;
+                case "setTransactionIsolation":
+                    transactionIsolation = (Integer) args[0];
+                    transactionIsolationSet = true;
+                    return null;
+                case "getHoldability":
+                    if ( holdability != null ) {
+                        return holdability;
+                    }
+                    break;
+                case "setHoldability":
+                    holdability = (Integer) args[0];
+                    return null;
+                case "isReadOnly":
+                    if ( readOnly != null ) {
+                        return readOnly;
+                    }
+                    break;
+                case "setReadOnly":
+                    readOnly = (Boolean) args[0];
+                    return null;
+                case "getCatalog":
+                    if ( catalogSet ) {
+                        return catalog;
+                    }
+                    break;
+                case "setCatalog":
+                    catalog = (String) args[0];
+                    catalogSet = true;
+                    return null;
+                case "getSchema":
+                    if ( schemaSet ) {
+                        return schema;
+                    }
+                    break;
+                case "setSchema":
+                    schema = (String) args[0];
+                    schemaSet = true;
+                    return null;
+                case "isClosed":
+                    return Boolean.FALSE;
+                case "isValid":
+                    return Boolean.TRUE;
+                case "getWarnings":
+                case "clearWarnings":
+                case "abort":
+                // nothing was done on an unbound connection, so there is nothing to commit or rollback
+                case "commit":
+                case "rollback":
+                    return null;
+                case "getMetaData":
+                    // frameworks often ask for metadata right away, that must not take a connection from the pool
+                    return Proxy.newProxyInstance( DatabaseMetaData.class.getClassLoader(), new Class<?>[]{DatabaseMetaData.class}, this::invokeMetaData );
+                case "toString":
+                    return ConnectionWrapper.class.getCanonicalName() + ".UNBOUND_CONNECTION";
+            }
+
+            bind();
+            try {
+                // the caller is a method of the wrapper, that handles exceptions from the physical connection
+                return method.invoke( wrappedConnection, args );
+            } catch ( InvocationTargetException e ) {
+                throw e.getCause();
+            }
+        }
+
+        // binds on the first call, that needs the metadata of the physical connection
+        private Object invokeMetaData(Object proxy, Method method, Object[] args) throws Throwable {
+            switch ( method.getName() ) {
+                case "getConnection":
+                    return ConnectionWrapper.this;
+                case "hashCode":
+                    return System.identityHashCode( proxy );
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return ConnectionWrapper.class.getCanonicalName() + ".UNBOUND_METADATA";
+            }
+
+            try {
+                bindIfUnbound();
+                return method.invoke( wrappedConnection.getMetaData(), args );
+            } catch ( InvocationTargetException e ) {
+                if ( e.getCause() instanceof SQLException ) {
+                    throw checkException( (SQLException) e.getCause() );
+                }
+                throw e.getCause();
+            } catch ( SQLException e ) {
+                throw checkException( e );
+            }
+        }
+
+        private void applyTo(ConnectionHandler handler) throws SQLException {
+            if ( autoCommitSet ) {
+                markDirty( AUTOCOMMIT );
+                handler.setAutoCommit( autoCommit );
+            }
+            if ( transactionIsolationSet ) {
+                markDirty( TRANSACTION_ISOLATION );
+                handler.setTransactionIsolation( transactionIsolation );
+            }
+            if ( holdability != null ) {
+                markDirty( HOLDABILITY );
+                handler.setHoldability( holdability );
+            }
+            if ( readOnly != null ) {
+                markDirty( READ_ONLY );
+                handler.setReadOnly( readOnly );
+            }
+            if ( catalogSet ) {
+                markDirty( CATALOG );
+                handler.setCatalog( catalog );
+            }
+            if ( schemaSet ) {
+                markDirty( SCHEMA );
+                handler.setSchema( schema );
+            }
+        }
+    }
+
     // --- //
 
     private static final InvocationHandler CLOSED_HANDLER = (proxy, method, args) -> {
@@ -0,0 +1,1152 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Prepared statement of a connection, that reports fatal exceptions to it. When obtained from the statement cache, closing it
+ * returns the underlying statement to the cache, unless its settings were changed in a way that would leak into the next use.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class PreparedStatementWrapper implements PreparedStatement {
+
+    private final ConnectionWrapper connection;
+    // null when not cached
+    private final StatementCache statementCache;
+    private final StatementCache.Key key;
+    private PreparedStatement wrappedStatement;
+    // result sets of a cached statement, closed before it's returned to the cache
+    private List<ResultSetWrapper> trackedResultSets;
+
+    private boolean reusable = true;
+    private boolean pendingBatch = false;
+
+    public PreparedStatementWrapper(ConnectionWrapper connectionWrapper, PreparedStatement statement) {
+        this( connectionWrapper, null, null, statement );
+    }
+
+    public PreparedStatementWrapper(ConnectionWrapper connectionWrapper, StatementCache cache, StatementCache.Key statementKey, PreparedStatement statement) {
+        connection = connectionWrapper;
+        statementCache = cache;
+        key = statementKey;
+        wrappedStatement = statement;
+    }
+
+    // --- //
+
+    @Override
+    public void close() throws SQLException {
+        if ( wrappedStatement == CLOSED_STATEMENT ) {
+            return;
+        }
+        PreparedStatement statement = wrappedStatement;
+        wrappedStatement = CLOSED_STATEMENT;
+        connection.releaseStatement( this );
+
+        if ( trackedResultSets != null && !trackedResultSets.isEmpty() ) {
+            for ( ResultSetWrapper resultSet : trackedResultSets.toArray( new ResultSetWrapper[trackedResultSets.size()] ) ) {
+                try {
+                    resultSet.close();
+                } catch ( SQLException e ) {
+                    // the statement may be left in an unknown state
+                    reusable = false;
+                }
+            }
+        }
+
+        if ( reusable && statementCache != null ) {
+            statementCache.release( key, statement, pendingBatch );
+        } else {
+            statement.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return wrappedStatement.isClosed();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if ( wrappedStatement == CLOSED_STATEMENT ) {
+            throw new SQLException( "Statement is closed" );
+        }
+        return connection;
+    }
+
+    SQLException checkException(SQLException exception) {
+        return connection.checkException( exception );
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet) {
+        if ( resultSet == null ) {
+            return null;
+        }
+        if ( statementCache == null ) {
+            // closed along with the statement
+            return new ResultSetWrapper( connection, this, resultSet );
+        }
+        if ( trackedResultSets == null ) {
+            trackedResultSets = new ArrayList<>();
+        }
+        for ( ResultSetWrapper wrapper : trackedResultSets ) {
+            // getResultSet() may be called more than once for the same result
+            if ( wrapper.isWrapping( resultSet ) ) {
+                return wrapper;
+            }
+        }
+        ResultSetWrapper wrapper = new ResultSetWrapper( connection, this, resultSet );
+        trackedResultSets.add( wrapper );
+        return wrapper;
+    }
+
+    void releaseResultSet(ResultSetWrapper wrapper) {
+        if ( trackedResultSets != null ) {
+            trackedResultSets.remove( wrapper );
+        }
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        try {
+            return wrapResultSet( wrappedStatement.executeQuery( sql ) );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        try {
+            return wrappedStatement.getMaxFieldSize();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setMaxFieldSize( max );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        try {
+            return wrappedStatement.getMaxRows();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setMaxRows( max );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setEscapeProcessing( enable );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        try {
+            return wrappedStatement.getQueryTimeout();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setQueryTimeout( seconds );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        try {
+            wrappedStatement.cancel();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        try {
+            return wrappedStatement.getWarnings();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        try {
+            wrappedStatement.clearWarnings();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setCursorName( name );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        try {
+            return wrapResultSet( wrappedStatement.getResultSet() );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        try {
+            return wrappedStatement.getUpdateCount();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        try {
+            return wrappedStatement.getMoreResults();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setFetchDirection( direction );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        try {
+            return wrappedStatement.getFetchDirection();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setFetchSize( rows );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        try {
+            return wrappedStatement.getFetchSize();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        try {
+            return wrappedStatement.getResultSetConcurrency();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        try {
+            return wrappedStatement.getResultSetType();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        try {
+            pendingBatch = true;
+            wrappedStatement.addBatch( sql );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        try {
+            pendingBatch = false;
+            wrappedStatement.clearBatch();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        try {
+            pendingBatch = false;
+            return wrappedStatement.executeBatch();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        try {
+            return wrappedStatement.getMoreResults( current );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        try {
+            return wrapResultSet( wrappedStatement.getGeneratedKeys() );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql, autoGeneratedKeys );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql, columnIndexes );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql, columnNames );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql, autoGeneratedKeys );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql, columnIndexes );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql, columnNames );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        try {
+            return wrappedStatement.getResultSetHoldability();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        try {
+            if ( !poolable ) {
+                reusable = false;
+            }
+            wrappedStatement.setPoolable( poolable );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        try {
+            return wrappedStatement.isPoolable();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.closeOnCompletion();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        try {
+            return wrappedStatement.isCloseOnCompletion();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        try {
+            return wrappedStatement.getLargeUpdateCount();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        try {
+            reusable = false;
+            wrappedStatement.setLargeMaxRows( max );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        try {
+            return wrappedStatement.getLargeMaxRows();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        try {
+            pendingBatch = false;
+            return wrappedStatement.executeLargeBatch();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql, autoGeneratedKeys );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql, columnIndexes );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql, columnNames );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    // --- //
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        try {
+            return wrapResultSet( wrappedStatement.executeQuery() );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        try {
+            wrappedStatement.setNull( parameterIndex, sqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        try {
+            wrappedStatement.setBoolean( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        try {
+            wrappedStatement.setByte( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        try {
+            wrappedStatement.setShort( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        try {
+            wrappedStatement.setInt( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        try {
+            wrappedStatement.setLong( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        try {
+            wrappedStatement.setFloat( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        try {
+            wrappedStatement.setDouble( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        try {
+            wrappedStatement.setBigDecimal( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        try {
+            wrappedStatement.setString( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        try {
+            wrappedStatement.setBytes( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setDate(int parameterIndex, java.sql.Date x) throws SQLException {
+        try {
+            wrappedStatement.setDate( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTime(int parameterIndex, java.sql.Time x) throws SQLException {
+        try {
+            wrappedStatement.setTime( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, java.sql.Timestamp x) throws SQLException {
+        try {
+            wrappedStatement.setTimestamp( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        try {
+            wrappedStatement.setAsciiStream( parameterIndex, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Deprecated
+    @Override
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        try {
+            wrappedStatement.setUnicodeStream( parameterIndex, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        try {
+            wrappedStatement.setBinaryStream( parameterIndex, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        try {
+            wrappedStatement.clearParameters();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        try {
+            wrappedStatement.setObject( parameterIndex, x, targetSqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        try {
+            wrappedStatement.setObject( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        try {
+            return wrappedStatement.execute();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        try {
+            pendingBatch = true;
+            wrappedStatement.addBatch();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        try {
+            wrappedStatement.setCharacterStream( parameterIndex, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        try {
+            wrappedStatement.setRef( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        try {
+            wrappedStatement.setBlob( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        try {
+            wrappedStatement.setClob( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        try {
+            wrappedStatement.setArray( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        try {
+            return wrappedStatement.getMetaData();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setDate(int parameterIndex, java.sql.Date x, Calendar cal) throws SQLException {
+        try {
+            wrappedStatement.setDate( parameterIndex, x, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTime(int parameterIndex, java.sql.Time x, Calendar cal) throws SQLException {
+        try {
+            wrappedStatement.setTime( parameterIndex, x, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, java.sql.Timestamp x, Calendar cal) throws SQLException {
+        try {
+            wrappedStatement.setTimestamp( parameterIndex, x, cal );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        try {
+            wrappedStatement.setNull( parameterIndex, sqlType, typeName );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        try {
+            wrappedStatement.setURL( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        try {
+            return wrappedStatement.getParameterMetaData();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        try {
+            wrappedStatement.setRowId( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String value) throws SQLException {
+        try {
+            wrappedStatement.setNString( parameterIndex, value );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+        try {
+            wrappedStatement.setNCharacterStream( parameterIndex, value, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException {
+        try {
+            wrappedStatement.setNClob( parameterIndex, value );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        try {
+            wrappedStatement.setClob( parameterIndex, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+        try {
+            wrappedStatement.setBlob( parameterIndex, inputStream, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        try {
+            wrappedStatement.setNClob( parameterIndex, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+        try {
+            wrappedStatement.setSQLXML( parameterIndex, xmlObject );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        try {
+            wrappedStatement.setObject( parameterIndex, x, targetSqlType, scaleOrLength );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        try {
+            wrappedStatement.setAsciiStream( parameterIndex, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        try {
+            wrappedStatement.setBinaryStream( parameterIndex, x, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        try {
+            wrappedStatement.setCharacterStream( parameterIndex, reader, length );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        try {
+            wrappedStatement.setAsciiStream( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        try {
+            wrappedStatement.setBinaryStream( parameterIndex, x );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        try {
+            wrappedStatement.setCharacterStream( parameterIndex, reader );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+        try {
+            wrappedStatement.setNCharacterStream( parameterIndex, value );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        try {
+            wrappedStatement.setClob( parameterIndex, reader );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+        try {
+            wrappedStatement.setBlob( parameterIndex, inputStream );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        try {
+            wrappedStatement.setNClob( parameterIndex, reader );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        try {
+            wrappedStatement.setObject( parameterIndex, x, targetSqlType, scaleOrLength );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+        try {
+            wrappedStatement.setObject( parameterIndex, x, targetSqlType );
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate();
+        } catch ( SQLException e ) {
+            throw checkException( e );
+        }
+    }
+
+    // --- //
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return wrappedStatement.unwrap( iface );
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return wrappedStatement.isWrapperFor( iface );
+    }
+
+    // --- //
+
+    private static final InvocationHandler CLOSED_HANDLER = (proxy, method, args) -> {
+            String methodName = method.getName();
+            if ( "close".equals( methodName ) ) {
+                return Void.TYPE;
+            } else if ( "isClosed".equals( methodName ) ) {
+                return Boolean.TRUE;
+            } else if ( "toString".equals( methodName ) ) {
+                return PreparedStatementWrapper.class.getCanonicalName() + ".CLOSED_STATEMENT";
+            }
+            throw new SQLException( "Statement is closed" );
+        };
+
+    // implements CallableStatement, so that it can be used on CallableStatementWrapper as well
+    static final CallableStatement CLOSED_STATEMENT = (CallableStatement) Proxy.newProxyInstance( CallableStatement.class.getClassLoader(), new Class<?>[]{CallableStatement.class}, CLOSED_HANDLER );
+
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of SQL metadata, shared by all the connections of a pool. Entries are evicted with the CLOCK algorithm: an
+ * entry used since the last time it was considered for eviction gets a second chance.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class SqlMetadataCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, SqlMetadata> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<SqlMetadata> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public SqlMetadataCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public SqlMetadata get(String sql) {
+        SqlMetadata metadata = entries.get( sql );
+        if ( metadata != null ) {
+            hitCount.increment();
+            // avoid writing to a shared cache line when not needed
+            if ( !metadata.referenced ) {
+                metadata.referenced = true;
+            }
+            return metadata;
+        }
+        missCount.increment();
+
+        metadata = new SqlMetadata( sql );
+        SqlMetadata previous = entries.putIfAbsent( sql, metadata );
+        if ( previous != null ) {
+            return previous;
+        }
+        evictionQueue.offer( metadata );
+        if ( entries.size() > maxSize ) {
+            evict();
+        }
+        return metadata;
+    }
+
+    private void evict() {
+        // bounded, as concurrent hits may keep giving second chances
+        for ( int i = 0; i < 2 * maxSize + 1 && entries.size() > maxSize; i++ ) {
+            SqlMetadata candidate = evictionQueue.poll();
+            if ( candidate == null ) {
+                return;
+            }
+            if ( candidate.referenced ) {
+                candidate.referenced = false;
+                evictionQueue.offer( candidate );
+            } else if ( entries.remove( candidate.sql, candidate ) ) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    // --- //
+
+    public long hitCount() {
+        return hitCount.longValue();
+    }
+
+    public long missCount() {
+        return missCount.longValue();
+    }
+
+    public long evictionCount() {
+        return evictionCount.longValue();
+    }
+
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    // --- //
+
+    public static final class SqlMetadata {
+
+        private final String sql;
+
+        private volatile boolean referenced;
+        private volatile String nativeSql;
+
+        // canonical copies of the generated key columns last requested with this SQL
+        private volatile int[] columnIndexes;
+        private volatile String[] columnNames;
+
+        private SqlMetadata(String sql) {
+            this.sql = sql;
+        }
+
+        public String nativeSql(Connection connection) throws SQLException {
+            String translated = nativeSql;
+            if ( translated == null ) {
+                nativeSql = translated = connection.nativeSQL( sql );
+            }
+            return translated;
+        }
+
+        public int[] canonical(int[] indexes) {
+            int[] cached = columnIndexes;
+            if ( cached != null && Arrays.equals( cached, indexes ) ) {
+                return cached;
+            }
+            return columnIndexes = indexes.clone();
+        }
+
+        public String[] canonical(String[] names) {
+            String[] cached = columnNames;
+            if ( cached != null && Arrays.equals( cached, names ) ) {
+                return cached;
+            }
+            return columnNames = names.clone();
+        }
+    }
+}
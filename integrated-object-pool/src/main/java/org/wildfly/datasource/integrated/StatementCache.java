@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of idle prepared and callable statements of one connection. Statements are taken out of the cache while in use,
+ * so it's only accessed by the thread holding the connection.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class StatementCache {
+
+    // no need for access order: statements are removed on take and put back on release, that is the most recent use
+    private final Map<Key, PreparedStatement> idleStatements;
+
+    public StatementCache(int maxSize) {
+        idleStatements = new LinkedHashMap<Key, PreparedStatement>( maxSize * 2 ) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if ( size() > maxSize ) {
+                    closeSafely( eldest.getValue() );
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public PreparedStatement take(Key key) {
+        return idleStatements.remove( key );
+    }
+
+    public void release(Key key, PreparedStatement statement, boolean pendingBatch) {
+        try {
+            if ( pendingBatch ) {
+                statement.clearBatch();
+            }
+            // the result of an execute() that was never retrieved keeps a cursor open
+            ResultSet resultSet = statement.getResultSet();
+            if ( resultSet != null ) {
+                resultSet.close();
+            }
+            statement.clearParameters();
+            statement.clearWarnings();
+        } catch ( SQLException e ) {
+            closeSafely( statement );
+            return;
+        }
+        if ( idleStatements.putIfAbsent( key, statement ) != null ) {
+            // the same statement was prepared twice while in use
+            closeSafely( statement );
+        }
+    }
+
+    public void clear() {
+        // statements are closed along with the connection
+        idleStatements.clear();
+    }
+
+    private static void closeSafely(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch ( SQLException ignore ) {
+        }
+    }
+
+    // --- //
+
+    public static final class Key {
+
+        // result set type, concurrency, holdability and auto-generated keys are 0 when not specified
+        private final boolean callable;
+        private final String sql;
+        private final int resultSetType, resultSetConcurrency, resultSetHoldability;
+        private final int autoGeneratedKeys;
+        private final int[] columnIndexes;
+        private final String[] columnNames;
+        private final int hashCode;
+
+        private Key(boolean callable, String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability, int autoGeneratedKeys, int[] columnIndexes, String[] columnNames) {
+            this.callable = callable;
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.resultSetHoldability = resultSetHoldability;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+            this.columnIndexes = columnIndexes;
+            this.columnNames = columnNames;
+
+            int hash = 31 * Boolean.hashCode( callable ) + sql.hashCode();
+            hash = 31 * ( 31 * ( 31 * hash + resultSetType ) + resultSetConcurrency ) + resultSetHoldability;
+            hash = 31 * ( 31 * ( 31 * hash + autoGeneratedKeys ) + Arrays.hashCode( columnIndexes ) ) + Arrays.hashCode( columnNames );
+            this.hashCode = hash;
+        }
+
+        public static Key statement(boolean callable, String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) {
+            return new Key( callable, sql, resultSetType, resultSetConcurrency, resultSetHoldability, 0, null, null );
+        }
+
+        // the arrays must not be modified after the key is created
+        public static Key generatedKeys(String sql, int autoGeneratedKeys, int[] columnIndexes, String[] columnNames) {
+            return new Key( false, sql, 0, 0, 0, autoGeneratedKeys, columnIndexes, columnNames );
+        }
+
+        public boolean isCallable() {
+            return callable;
+        }
+
+        public PreparedStatement prepare(Connection connection) throws SQLException {
+            if ( callable ) {
+                if ( resultSetType == 0 ) {
+                    return connection.prepareCall( sql );
+                } else if ( resultSetHoldability == 0 ) {
+                    return connection.prepareCall( sql, resultSetType, resultSetConcurrency );
+                }
+                return connection.prepareCall( sql, resultSetType, resultSetConcurrency, resultSetHoldability );
+            }
+            if ( autoGeneratedKeys != 0 ) {
+                return connection.prepareStatement( sql, autoGeneratedKeys );
+            } else if ( columnIndexes != null ) {
+                return connection.prepareStatement( sql, columnIndexes );
+            } else if ( columnNames != null ) {
+                return connection.prepareStatement( sql, columnNames );
+            }
+            if ( resultSetType == 0 ) {
+                return connection.prepareStatement( sql );
+            } else if ( resultSetHoldability == 0 ) {
+                return connection.prepareStatement( sql, resultSetType, resultSetConcurrency );
+            }
+            return connection.prepareStatement( sql, resultSetType, resultSetConcurrency, resultSetHoldability );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !( o instanceof Key ) ) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode && callable == other.callable && resultSetType == other.resultSetType
+                    && resultSetConcurrency == other.resultSetConcurrency && resultSetHoldability == other.resultSetHoldability
+                    && autoGeneratedKeys == other.autoGeneratedKeys && sql.equals( other.sql )
+                    && ( columnIndexes == other.columnIndexes || Arrays.equals( columnIndexes, other.columnIndexes ) )
+                    && ( columnNames == other.columnNames || Arrays.equals( columnNames, other.columnNames ) );
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
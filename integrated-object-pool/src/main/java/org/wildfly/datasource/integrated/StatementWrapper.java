@@ -0,0 +1,512 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Statement of a connection, that reports fatal exceptions to it.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class StatementWrapper implements Statement {
+
+    private final ConnectionWrapper connection;
+    private Statement wrappedStatement;
+
+    public StatementWrapper(ConnectionWrapper connectionWrapper, Statement statement) {
+        connection = connectionWrapper;
+        wrappedStatement = statement;
+    }
+
+    // --- //
+
+    @Override
+    public void close() throws SQLException {
+        if ( wrappedStatement == PreparedStatementWrapper.CLOSED_STATEMENT ) {
+            return;
+        }
+        Statement statement = wrappedStatement;
+        wrappedStatement = PreparedStatementWrapper.CLOSED_STATEMENT;
+        connection.releaseStatement( this );
+        statement.close();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return wrappedStatement.isClosed();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if ( wrappedStatement == PreparedStatementWrapper.CLOSED_STATEMENT ) {
+            throw new SQLException( "Statement is closed" );
+        }
+        return connection;
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet) {
+        // closed along with the statement
+        return resultSet == null ? null : new ResultSetWrapper( connection, this, resultSet );
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        try {
+            return wrapResultSet( wrappedStatement.executeQuery( sql ) );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        try {
+            return wrappedStatement.getMaxFieldSize();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        try {
+            wrappedStatement.setMaxFieldSize( max );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        try {
+            return wrappedStatement.getMaxRows();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        try {
+            wrappedStatement.setMaxRows( max );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        try {
+            wrappedStatement.setEscapeProcessing( enable );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        try {
+            return wrappedStatement.getQueryTimeout();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        try {
+            wrappedStatement.setQueryTimeout( seconds );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        try {
+            wrappedStatement.cancel();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        try {
+            return wrappedStatement.getWarnings();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        try {
+            wrappedStatement.clearWarnings();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        try {
+            wrappedStatement.setCursorName( name );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        try {
+            return wrapResultSet( wrappedStatement.getResultSet() );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        try {
+            return wrappedStatement.getUpdateCount();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        try {
+            return wrappedStatement.getMoreResults();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        try {
+            wrappedStatement.setFetchDirection( direction );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        try {
+            return wrappedStatement.getFetchDirection();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        try {
+            wrappedStatement.setFetchSize( rows );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        try {
+            return wrappedStatement.getFetchSize();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        try {
+            return wrappedStatement.getResultSetConcurrency();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        try {
+            return wrappedStatement.getResultSetType();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        try {
+            wrappedStatement.addBatch( sql );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        try {
+            wrappedStatement.clearBatch();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        try {
+            return wrappedStatement.executeBatch();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        try {
+            return wrappedStatement.getMoreResults( current );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        try {
+            return wrapResultSet( wrappedStatement.getGeneratedKeys() );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql, autoGeneratedKeys );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql, columnIndexes );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        try {
+            return wrappedStatement.executeUpdate( sql, columnNames );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql, autoGeneratedKeys );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql, columnIndexes );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        try {
+            return wrappedStatement.execute( sql, columnNames );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        try {
+            return wrappedStatement.getResultSetHoldability();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        try {
+            wrappedStatement.setPoolable( poolable );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        try {
+            return wrappedStatement.isPoolable();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        try {
+            wrappedStatement.closeOnCompletion();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        try {
+            return wrappedStatement.isCloseOnCompletion();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        try {
+            return wrappedStatement.getLargeUpdateCount();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        try {
+            wrappedStatement.setLargeMaxRows( max );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        try {
+            return wrappedStatement.getLargeMaxRows();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        try {
+            return wrappedStatement.executeLargeBatch();
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql, autoGeneratedKeys );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql, columnIndexes );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        try {
+            return wrappedStatement.executeLargeUpdate( sql, columnNames );
+        } catch ( SQLException e ) {
+            throw connection.checkException( e );
+        }
+    }
+
+    // --- //
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return wrappedStatement.unwrap( iface );
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return wrappedStatement.isWrapperFor( iface );
+    }
+
+}
@@ -35,7 +35,9 @@ import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 
 /**
@@ -55,7 +57,7 @@ public class WildFlyDataSourceIntegrated implements WildFlyDataSource {
         listenerList = new StampedCopyOnWriteArrayList<>( WildFlyDataSourceListener.class );
         connectionPool = new ConnectionPool( configuration.connectionPoolConfiguration(), this );
 
-        metricsRegistry = configuration.metricsEnabled() ? new DefaultMetricsRegistry( connectionPool ) : new EmptyMetricsRegistry();
+        metricsRegistry = configuration.metricsEnabled() ? new DefaultMetricsRegistry( connectionPool, configuration.callSiteSampling() ) : new EmptyMetricsRegistry();
 
         connectionPool.init();
     }
@@ -96,6 +98,15 @@ public class WildFlyDataSourceIntegrated implements WildFlyDataSource {
         return connectionPool.getConnection();
     }
 
+    public List<Connection> getConnections(int n, Duration timeout) throws SQLException {
+        return connectionPool.getConnections( n, timeout );
+    }
+
+    @Override
+    public CompletionStage<Connection> getConnectionAsync() {
+        return connectionPool.getConnectionAsync();
+    }
+
     @Override
     public Connection getConnection(String username, String password) throws SQLException {
         throw new SQLException( "username/password invalid on a pooled data source" );
@@ -23,7 +23,15 @@
 package org.wildfly.datasource.integrated;
 
 import org.wildfly.datasource.api.WildFlyDataSourceMetrics;
-
+import org.wildfly.datasource.integrated.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -47,6 +55,23 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
 
     default void afterConnectionAcquire(long timestamp) {}
 
+    default long beforeConnectionHold() {
+        return 0;
+    }
+
+    default void afterConnectionHold(long timestamp, Throwable callSite) {}
+
+    // returns a marker of the current call site, on a sample of the invocations, or null otherwise
+    default Throwable sampleCallSite() {
+        return null;
+    }
+
+    default long beforeConnectionValidation() {
+        return 0;
+    }
+
+    default void afterConnectionValidation(long timestamp) {}
+
     default void afterConnectionTimeout() {}
 
     default void afterConnectionClose() {}
@@ -67,6 +92,11 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
     class DefaultMetricsRegistry implements WildFlyDataSourceMetricsRegistry {
 
         private static final long NANO_TO_MILLI = 1_000_000;
+        private static final double[] REPORTED_PERCENTILES = { 50, 99, 99.9 };
+        private static final int HOLDING_SITES = 10;
+
+        // frames of the pool itself, not of the application. other packages under org.wildfly.datasource may be callers
+        private static final String[] DATASOURCE_PACKAGES = { "org.wildfly.datasource.api.", "org.wildfly.datasource.integrated.", "org.wildfly.datasource.narayana." };
 
         private final ConnectionPool connectionPool;
 
@@ -76,14 +106,30 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
         private final LongAdder acquireDuration = new LongAdder();
         private final LongAdder timeoutCount = new LongAdder();
         private final LongAdder closeCount = new LongAdder();
+        private final LongAdder holdCount = new LongAdder();
+        private final LongAdder holdDuration = new LongAdder();
+
+        private final LatencyHistogram createdHistogram = new LatencyHistogram();
+        private final LatencyHistogram acquireHistogram = new LatencyHistogram();
+        private final LatencyHistogram holdHistogram = new LatencyHistogram();
+        private final LatencyHistogram validationHistogram = new LatencyHistogram();
 
         private static final AtomicLongFieldUpdater<DefaultMetricsRegistry> maxCreated = newUpdater( DefaultMetricsRegistry.class, "maxCreatedDuration" );
         private static final AtomicLongFieldUpdater<DefaultMetricsRegistry> maxAcquire = newUpdater( DefaultMetricsRegistry.class, "maxAcquireDuration" );
+        private static final AtomicLongFieldUpdater<DefaultMetricsRegistry> maxHold = newUpdater( DefaultMetricsRegistry.class, "maxHoldDuration" );
         private volatile long maxCreatedDuration = 0;
         private volatile long maxAcquireDuration = 0;
+        private volatile long maxHoldDuration = 0;
+
+        private final int callSiteSampling;
+
+        // guarded by this. the threshold is the shortest duration on a full map, to avoid locking for most samples
+        private final Map<String, Long> holdingSites = new HashMap<>();
+        private volatile long holdingSitesThreshold = 0;
 
-        public DefaultMetricsRegistry(ConnectionPool pool) {
+        public DefaultMetricsRegistry(ConnectionPool pool, int callSiteSampling) {
             this.connectionPool = pool;
+            this.callSiteSampling = callSiteSampling;
         }
 
         private void setMaxValue(AtomicLongFieldUpdater<DefaultMetricsRegistry> updater, long value) {
@@ -110,6 +156,7 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
             createdCount.increment();
             createdDuration.add( duration );
             setMaxValue( maxCreated, duration );
+            createdHistogram.record( duration );
         }
 
         @Override
@@ -123,6 +170,82 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
             acquireCount.increment();
             acquireDuration.add( duration );
             setMaxValue( maxAcquire, duration );
+            acquireHistogram.record( duration );
+        }
+
+        @Override
+        public long beforeConnectionHold() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void afterConnectionHold(long timestamp, Throwable callSite) {
+            long duration = System.nanoTime() - timestamp;
+            holdCount.increment();
+            holdDuration.add( duration );
+            setMaxValue( maxHold, duration );
+            holdHistogram.record( duration );
+
+            if ( callSite != null && duration > holdingSitesThreshold ) {
+                recordHoldingSite( callSite, duration );
+            }
+        }
+
+        @Override
+        public Throwable sampleCallSite() {
+            // The Throwable captures the stack when created, that is why only a sample is taken. The frames are only
+            // decoded if the hold time makes it to the longest holding sites
+            if ( callSiteSampling > 0 && ThreadLocalRandom.current().nextInt( callSiteSampling ) == 0 ) {
+                return new Throwable();
+            }
+            return null;
+        }
+
+        private synchronized void recordHoldingSite(Throwable callSite, long duration) {
+            String site = callSiteName( callSite );
+            Long previous = holdingSites.get( site );
+            if ( previous != null && previous >= duration ) {
+                return;
+            }
+            holdingSites.put( site, duration );
+
+            if ( holdingSites.size() >= HOLDING_SITES ) {
+                Map.Entry<String, Long> shortest = Collections.min( holdingSites.entrySet(), Map.Entry.comparingByValue() );
+                if ( holdingSites.size() > HOLDING_SITES ) {
+                    holdingSites.remove( shortest.getKey() );
+                    shortest = Collections.min( holdingSites.entrySet(), Map.Entry.comparingByValue() );
+                }
+                holdingSitesThreshold = shortest.getValue();
+            }
+        }
+
+        private static String callSiteName(Throwable callSite) {
+            // The first frame outside of the datasource is the one that acquired the connection
+            for ( StackTraceElement element : callSite.getStackTrace() ) {
+                if ( !isDataSourceFrame( element.getClassName() ) ) {
+                    return element.toString();
+                }
+            }
+            return "unknown";
+        }
+
+        private static boolean isDataSourceFrame(String className) {
+            for ( String prefix : DATASOURCE_PACKAGES ) {
+                if ( className.startsWith( prefix ) ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public long beforeConnectionValidation() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void afterConnectionValidation(long timestamp) {
+            validationHistogram.record( System.nanoTime() - timestamp );
         }
 
         @Override
@@ -202,6 +325,68 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
             return connectionPool.awaitingCount();
         }
 
+        @Override
+        public long sqlMetadataCacheHitCount() {
+            return connectionPool.sqlMetadataCache().hitCount();
+        }
+
+        @Override
+        public long sqlMetadataCacheMissCount() {
+            return connectionPool.sqlMetadataCache().missCount();
+        }
+
+        @Override
+        public long sqlMetadataCacheEvictionCount() {
+            return connectionPool.sqlMetadataCache().evictionCount();
+        }
+
+        @Override
+        public double averageHoldTime() {
+            return (double) holdDuration.longValue() / holdCount.longValue() / NANO_TO_MILLI;
+        }
+
+        @Override
+        public long maxHoldTime() {
+            return maxHoldDuration / NANO_TO_MILLI;
+        }
+
+        @Override
+        public long totalHoldTime() {
+            return holdDuration.longValue() / NANO_TO_MILLI;
+        }
+
+        @Override
+        public synchronized Map<String, Long> longestHoldingSites() {
+            List<Map.Entry<String, Long>> entries = new ArrayList<>( holdingSites.entrySet() );
+            entries.sort( Collections.reverseOrder( Map.Entry.comparingByValue() ) );
+
+            Map<String, Long> sites = new LinkedHashMap<>();
+            for ( Map.Entry<String, Long> entry : entries ) {
+                sites.put( entry.getKey(), entry.getValue() / NANO_TO_MILLI );
+            }
+            return sites;
+        }
+
+        @Override
+        public double creationTimePercentile(double percentile) {
+            return (double) createdHistogram.percentile( percentile ) / NANO_TO_MILLI;
+        }
+
+        @Override
+        public double blockingTimePercentile(double percentile) {
+            return (double) acquireHistogram.percentile( percentile ) / NANO_TO_MILLI;
+        }
+
+        @Override
+        public double holdTimePercentile(double percentile) {
+            return (double) holdHistogram.percentile( percentile ) / NANO_TO_MILLI;
+        }
+
+        @Override
+        public double validationTimePercentile(double percentile) {
+            return (double) validationHistogram.percentile( percentile ) / NANO_TO_MILLI;
+        }
+
         // --- //
 
         @Override
@@ -212,10 +397,24 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
             acquireDuration.reset();
             timeoutCount.reset();
             closeCount.reset();
+            holdCount.reset();
+            holdDuration.reset();
+
+            createdHistogram.reset();
+            acquireHistogram.reset();
+            holdHistogram.reset();
+            validationHistogram.reset();
 
             maxCreatedDuration = 0;
             maxAcquireDuration = 0;
+            maxHoldDuration = 0;
             connectionPool.resetMaxUsedCount();
+            connectionPool.sqlMetadataCache().resetStatistics();
+
+            synchronized ( this ) {
+                holdingSites.clear();
+                holdingSitesThreshold = 0;
+            }
         }
 
         // --- //
@@ -226,8 +425,22 @@ public interface WildFlyDataSourceMetricsRegistry extends WildFlyDataSourceMetri
             String s2 = format( "Pool: %d available / %d active / %d max %n", availableCount(), activeCount(), maxUsedCount() );
             String s3 = format( "Created duration: %3.3fµs average / %dms max / %dms total %n", averageCreationTime() * 1000, maxCreationTime(), totalCreationTime() );
             String s4 = format( "Acquire duration: %3.3fµs average / %dms max / %dms total %n", averageBlockingTime() * 1000, maxBlockingTime(), totalBlockingTime() );
-            String s5 = format( "Threads awaiting: %d %n", awaitingCount() );
-            return s1 + s2 + s3 + s4 + s5;
+            String s5 = format( "Hold duration: %3.3fµs average / %dms max / %dms total %n", averageHoldTime() * 1000, maxHoldTime(), totalHoldTime() );
+            String s6 = format( "Threads awaiting: %d %n", awaitingCount() );
+            String s7 = format( "Created percentiles: %s %n", percentiles( createdHistogram ) );
+            String s8 = format( "Acquire percentiles: %s %n", percentiles( acquireHistogram ) );
+            String s9 = format( "Hold percentiles: %s %n", percentiles( holdHistogram ) );
+            String s10 = format( "Validation percentiles: %s %n", percentiles( validationHistogram ) );
+            String s11 = format( "SQL metadata cache: %d hits / %d misses / %d evictions %n", sqlMetadataCacheHitCount(), sqlMetadataCacheMissCount(), sqlMetadataCacheEvictionCount() );
+            return s1 + s2 + s3 + s4 + s5 + s6 + s7 + s8 + s9 + s10 + s11;
+        }
+
+        private static String percentiles(LatencyHistogram histogram) {
+            StringBuilder builder = new StringBuilder();
+            for ( double percentile : REPORTED_PERCENTILES ) {
+                builder.append( format( "p%s %3.3fµs / ", percentile, histogram.percentile( percentile ) / 1000.0 ) );
+            }
+            return builder.substring( 0, builder.length() - 3 );
         }
 
     }
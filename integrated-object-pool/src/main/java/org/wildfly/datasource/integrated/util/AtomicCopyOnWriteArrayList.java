@@ -38,7 +38,7 @@ import java.util.stream.Stream;
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class AtomicCopyOnWriteArrayList<T> implements List<T> {
+public class AtomicCopyOnWriteArrayList<T> implements ExposedList<T> {
 
     private volatile T[] data;
 
@@ -39,7 +39,7 @@ import java.util.stream.Stream;
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class AtomicReferenceCopyOnWriteArrayList<T> implements List<T> {
+public class AtomicReferenceCopyOnWriteArrayList<T> implements ExposedList<T> {
 
     private AtomicReference<T[]> data;
 
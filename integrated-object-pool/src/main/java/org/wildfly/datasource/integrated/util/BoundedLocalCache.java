@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated.util;
+
+import java.lang.reflect.Array;
+
+/**
+ * Fixed capacity LIFO cache meant to be confined to one thread. When full, the oldest element is dropped.
+ * The cache is cleared whenever it is accessed with an epoch other than the one it was filled on.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class BoundedLocalCache<T> {
+
+    private final T[] data;
+    private int head, size;
+    private long epoch;
+
+    @SuppressWarnings( "unchecked" )
+    public BoundedLocalCache(Class<?> clazz, int capacity) {
+        this.data = (T[]) Array.newInstance( clazz, capacity );
+    }
+
+    public void add(T element, long currentEpoch) {
+        if ( data.length == 0 ) {
+            return;
+        }
+        evictIfStale( currentEpoch );
+        if ( size == data.length ) {
+            data[head] = null;
+            head = ( head + 1 ) % data.length;
+            size--;
+        }
+        data[( head + size ) % data.length] = element;
+        size++;
+    }
+
+    public T removeLast(long currentEpoch) {
+        evictIfStale( currentEpoch );
+        if ( size == 0 ) {
+            return null;
+        }
+        int index = ( head + --size ) % data.length;
+        T element = data[index];
+        data[index] = null;
+        return element;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for ( int i = 0; i < data.length; i++ ) {
+            data[i] = null;
+        }
+        head = size = 0;
+    }
+
+    private void evictIfStale(long currentEpoch) {
+        if ( epoch != currentEpoch ) {
+            clear();
+            epoch = currentEpoch;
+        }
+    }
+}
@@ -29,7 +29,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class ExposedCopyOnWriteArrayList<T> extends CopyOnWriteArrayList<T> {
+public class ExposedCopyOnWriteArrayList<T> extends CopyOnWriteArrayList<T> implements ExposedList<T> {
 
     private final T[] EMPTY;
 
@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * FIFO queue of waiters. Elements are transferred directly to the waiter that has been waiting for longer.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class HandOffQueue<T> {
+
+    private final Queue<Waiter<T>> waiters = new ConcurrentLinkedQueue<>();
+    private final LongAdder waiterCount = new LongAdder();
+
+    public boolean hasWaiters() {
+        return !waiters.isEmpty();
+    }
+
+    public long getQueueLength() {
+        return waiterCount.sum();
+    }
+
+    public Waiter<T> enqueue() {
+        return enqueue( new Waiter<>( Thread.currentThread(), null ) );
+    }
+
+    /**
+     * Enqueues a waiter that does not park. The consumer is called by the thread that hands off the element.
+     */
+    public Waiter<T> enqueue(Consumer<T> consumer) {
+        return enqueue( new Waiter<>( null, consumer ) );
+    }
+
+    private Waiter<T> enqueue(Waiter<T> waiter) {
+        waiterCount.increment();
+        waiters.add( waiter );
+        return waiter;
+    }
+
+    /**
+     * Gives the element to the longest waiting thread. Returns false if there was no one to take it.
+     */
+    public boolean handOff(T element) {
+        for ( Waiter<T> waiter; ( waiter = waiters.poll() ) != null; ) {
+            waiterCount.decrement();
+            if ( waiter.offer( element ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Withdraws a waiter from the queue. Returns false if an element was handed to the waiter in the meantime.
+     */
+    public boolean cancel(Waiter<T> waiter) {
+        if ( waiter.cancel() ) {
+            if ( waiters.remove( waiter ) ) {
+                waiterCount.decrement();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Parks the current thread until an element is handed to the waiter. Returns null on timeout.
+     */
+    public T await(Waiter<T> waiter, long timeout) throws InterruptedException {
+        long deadline = nanoTime() + timeout;
+        for ( long remaining = timeout; ; remaining = deadline - nanoTime() ) {
+            T element = waiter.element();
+            if ( element != null ) {
+                return element;
+            }
+            if ( Thread.interrupted() ) {
+                if ( cancel( waiter ) ) {
+                    throw new InterruptedException();
+                }
+                Thread.currentThread().interrupt();
+                return waiter.element();
+            }
+            if ( remaining <= 0 ) {
+                return cancel( waiter ) ? null : waiter.element();
+            }
+            LockSupport.parkNanos( this, remaining );
+        }
+    }
+
+    // --- //
+
+    public static final class Waiter<T> {
+
+        private static final Object CANCELLED = new Object();
+
+        @SuppressWarnings( "rawtypes" )
+        private static final AtomicReferenceFieldUpdater<Waiter, Object> elementUpdater = AtomicReferenceFieldUpdater.newUpdater( Waiter.class, Object.class, "element" );
+
+        private final Thread thread;
+        private final Consumer<T> consumer;
+
+        private volatile Object element;
+
+        private Waiter(Thread thread, Consumer<T> consumer) {
+            this.thread = thread;
+            this.consumer = consumer;
+        }
+
+        private boolean offer(T offered) {
+            if ( elementUpdater.compareAndSet( this, null, offered ) ) {
+                if ( consumer != null ) {
+                    consumer.accept( offered );
+                } else {
+                    LockSupport.unpark( thread );
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private boolean cancel() {
+            return elementUpdater.compareAndSet( this, null, CANCELLED );
+        }
+
+        @SuppressWarnings( "unchecked" )
+        private T element() {
+            Object current = element;
+            return current == CANCELLED ? null : (T) current;
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of durations, in the spirit of HdrHistogram. Each power of two range is split in linear sub-buckets,
+ * giving a relative error below 1 / SUB_BUCKETS. Recording is lock-free and does not allocate: each thread increments a
+ * bucket on its own stripe, and stripes are merged on read.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // values above 2^MAX_EXPONENT nanoseconds (about 18 minutes) are recorded on the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = ( 1L << ( MAX_EXPONENT + 1 ) ) - 1;
+    private static final int BUCKETS = ( MAX_EXPONENT - SUB_BUCKET_BITS + 2 ) * SUB_BUCKETS;
+
+    private static final int MAX_STRIPES = 8;
+
+    private final AtomicLongArray counts;
+    private final int stripeMask;
+
+    public LatencyHistogram() {
+        int stripes = Math.min( Integer.highestOneBit( Runtime.getRuntime().availableProcessors() ), MAX_STRIPES );
+        stripeMask = stripes - 1;
+        counts = new AtomicLongArray( stripes * BUCKETS );
+    }
+
+    public void record(long value) {
+        int stripe = (int) ( ( Thread.currentThread().getId() * 0x9E3779B97F4A7C15L ) >>> 33 ) & stripeMask;
+        counts.incrementAndGet( stripe * BUCKETS + bucketIndex( Math.min( Math.max( value, 0 ), MAX_VALUE ) ) );
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the requested percentile (between 0 and 100), or 0 when empty.
+     */
+    public long percentile(double percentile) {
+        long[] merged = new long[BUCKETS];
+        long total = 0;
+        for ( int i = 0; i < counts.length(); i++ ) {
+            long count = counts.get( i );
+            merged[i % BUCKETS] += count;
+            total += count;
+        }
+        if ( total == 0 ) {
+            return 0;
+        }
+
+        long rank = Math.max( (long) Math.ceil( total * Math.min( percentile, 100 ) / 100 ), 1 );
+        for ( int i = 0; i < BUCKETS; i++ ) {
+            rank -= merged[i];
+            if ( rank <= 0 ) {
+                return bucketUpperBound( i );
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    public void reset() {
+        for ( int i = 0; i < counts.length(); i++ ) {
+            counts.set( i, 0 );
+        }
+    }
+
+    // --- //
+
+    private static int bucketIndex(long value) {
+        if ( value < SUB_BUCKETS ) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros( value );
+        int subBucket = (int) ( value >>> ( exponent - SUB_BUCKET_BITS ) ) & ( SUB_BUCKETS - 1 );
+        return ( exponent - SUB_BUCKET_BITS + 1 ) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if ( index < SUB_BUCKETS ) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) ( SUB_BUCKETS + index % SUB_BUCKETS ) << shift;
+        return lowerBound + ( 1L << shift ) - 1;
+    }
+}
@@ -39,7 +39,7 @@ import java.util.stream.Stream;
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class LockFreeCopyOnWriteArrayList<T> implements List<T> {
+public class LockFreeCopyOnWriteArrayList<T> implements ExposedList<T> {
 
     private final static AtomicReferenceFieldUpdater<LockFreeCopyOnWriteArrayList, Object[]> updater =
             AtomicReferenceFieldUpdater.newUpdater( LockFreeCopyOnWriteArrayList.class, Object[].class, "data");
@@ -46,6 +46,7 @@ public class PriorityScheduledExecutor extends ScheduledThreadPoolExecutor {
             housekeepingThread.setDaemon( false );
             return housekeepingThread;
         } );
+        setRemoveOnCancelPolicy( true );
     }
 
     public Future<?> executeNow(Runnable priorityTask) {
@@ -39,7 +39,7 @@ import java.util.stream.Stream;
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class StampedCopyOnWriteArrayList<T> implements List<T> {
+public class StampedCopyOnWriteArrayList<T> implements ExposedList<T> {
 
     private final StampedLock lock = new StampedLock();
 
@@ -145,11 +145,11 @@ public class StampedCopyOnWriteArrayList<T> implements List<T> {
                             stamp = writeStamp;
 
                             int numMoved = data.length - index - 1;
+                            T[] newData = Arrays.copyOf( data, data.length - 1);
                             if ( numMoved > 0 ) {
-                                T[] newData = Arrays.copyOf( data, data.length - 1);
-                                System.arraycopy( data, index + 1, newData, index, data.length - index - 1 );
-                                data = newData;
+                                System.arraycopy( data, index + 1, newData, index, numMoved );
                             }
+                            data = newData;
                             return true;
                         }
                         else {
@@ -39,7 +39,7 @@ import java.util.stream.Stream;
 /**
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class SynchronizedCopyOnWriteArrayList<T> implements List<T> {
+public class SynchronizedCopyOnWriteArrayList<T> implements ExposedList<T> {
 
     private T[] data;
 
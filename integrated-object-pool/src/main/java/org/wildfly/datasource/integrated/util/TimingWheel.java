@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.datasource.integrated.util;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Hashed wheel of timeouts. Each bucket is an intrusive list, so that scheduling does not allocate. Deadlines beyond the
+ * span of the wheel stay on their bucket until a later turn. A timeout must not be scheduled again until it expires.
+ *
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class TimingWheel {
+
+    private final Timeout[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final long startTime;
+
+    // current tick, its bucket is visited again on the next advance as it may not be over
+    private long tick;
+
+    public TimingWheel(int size, long tickDuration, TimeUnit unit) {
+        int length = 1;
+        while ( length < size ) {
+            length <<= 1;
+        }
+        this.wheel = new Timeout[length];
+        this.mask = length - 1;
+        this.tickNanos = unit.toNanos( tickDuration );
+        this.startTime = nanoTime();
+    }
+
+    public synchronized void schedule(Timeout timeout, long deadline) {
+        // The bucket of the tick the deadline falls on. Deadlines already past go to the current tick.
+        long deadlineTick = Math.max( ( deadline - startTime ) / tickNanos, tick );
+        int bucket = (int) ( deadlineTick & mask );
+
+        timeout.deadline = deadline;
+        timeout.next = wheel[bucket];
+        wheel[bucket] = timeout;
+    }
+
+    /**
+     * Expires all the timeouts with a deadline up to now. They are unlinked as a batch and expired outside the lock, so
+     * that they can be scheduled again.
+     */
+    public void advance(long now) {
+        Timeout expired = null;
+        synchronized ( this ) {
+            long lastTick = ( now - startTime ) / tickNanos;
+
+            // One turn of the wheel visits every bucket
+            for ( long t = Math.max( tick, lastTick - mask ); t <= lastTick; t++ ) {
+                int bucket = (int) ( t & mask );
+                Timeout previous = null;
+                for ( Timeout timeout = wheel[bucket], next; timeout != null; timeout = next ) {
+                    next = timeout.next;
+                    if ( timeout.deadline - now > 0 ) {
+                        previous = timeout;
+                        continue;
+                    }
+                    if ( previous == null ) {
+                        wheel[bucket] = next;
+                    } else {
+                        previous.next = next;
+                    }
+                    timeout.next = expired;
+                    expired = timeout;
+                }
+            }
+            tick = Math.max( tick, lastTick );
+        }
+        for ( Timeout timeout = expired, next; timeout != null; timeout = next ) {
+            next = timeout.next;
+            timeout.next = null;
+            timeout.expire( now );
+        }
+    }
+
+    // --- //
+
+    public abstract static class Timeout {
+
+        private long deadline;
+        private Timeout next;
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        protected abstract void expire(long now);
+    }
+}
@@ -0,0 +1,155 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MAX;
+import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class AsyncAcquisitionTest {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:test";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    @Test
+    public void handOffTest() throws Exception {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .preFillMode( MAX )
+                        .acquisitionTimeout( Duration.ofSeconds( 1 ) )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder ) ) {
+            Connection held = dataSource.getConnection();
+
+            CompletableFuture<Thread> completingThread = dataSource.getConnectionAsync().thenApply( connection -> {
+                try {
+                    connection.close();
+                } catch ( SQLException e ) {
+                    throw new RuntimeException( e );
+                }
+                return Thread.currentThread();
+            } ).toCompletableFuture();
+
+            Assert.assertFalse( "Completed without a connection available", completingThread.isDone() );
+
+            // the connection is handed off to the waiting stage
+            held.close();
+
+            Assert.assertNotSame( "Dependent stage run by the thread returning the connection", Thread.currentThread(), completingThread.get( 5, TimeUnit.SECONDS ) );
+        }
+    }
+
+    @Test
+    public void creationFailureTest() throws Exception {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        // no acquisition timeout, so that only the failure can complete the stage
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL + ";UNKNOWN_SETTING=1" )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder ) ) {
+            try {
+                dataSource.getConnectionAsync().toCompletableFuture().get( 5, TimeUnit.SECONDS );
+                Assert.fail( "ExecutionException was expected" );
+            } catch ( ExecutionException e ) {
+                Assert.assertTrue( "Unexpected cause " + e.getCause(), e.getCause() instanceof SQLException );
+            } catch ( TimeoutException e ) {
+                Assert.fail( "Creation failure not reported to the waiting stage" );
+            }
+        }
+    }
+
+    @Test
+    public void idleValidationTest() throws Exception {
+        List<Thread> validatingThreads = new CopyOnWriteArrayList<>();
+
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .metricsEnabled( true )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .preFillMode( MAX )
+                        .idleValidationTimeout( Duration.ofMillis( 100 ) )
+                        // the first connection is not valid
+                        .idleValidator( connection -> {
+                            validatingThreads.add( Thread.currentThread() );
+                            return validatingThreads.size() > 1;
+                        } )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder ) ) {
+            // the connection is idle once created
+            for ( int i = 0; i < 50 && dataSource.getMetrics().availableCount() == 0; i++ ) {
+                Thread.sleep( 100 );
+            }
+            Thread.sleep( 200 );
+
+            // a replacement is acquired for the invalid connection
+            try ( Connection connection = dataSource.getConnectionAsync().toCompletableFuture().get( 5, TimeUnit.SECONDS ) ) {
+                Assert.assertFalse( connection.isClosed() );
+            }
+
+            Assert.assertEquals( 1, validatingThreads.size() );
+            Assert.assertNotSame( "Validated on the thread of the caller", Thread.currentThread(), validatingThreads.get( 0 ) );
+        }
+    }
+
+    @Test
+    public void cancelledAcquisitionTest() throws Exception {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .preFillMode( MAX )
+                        .acquisitionTimeout( Duration.ofSeconds( 1 ) )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder ) ) {
+            Connection held = dataSource.getConnection();
+
+            CompletableFuture<Connection> future = dataSource.getConnectionAsync().toCompletableFuture();
+            future.cancel( false );
+            held.close();
+
+            // the connection handed to the cancelled stage must be returned to the pool
+            try ( Connection connection = dataSource.getConnection() ) {
+                Assert.assertFalse( connection.isClosed() );
+            }
+        }
+    }
+}
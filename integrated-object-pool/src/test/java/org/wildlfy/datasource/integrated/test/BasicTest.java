@@ -7,6 +7,7 @@ import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -47,6 +48,30 @@ public class BasicTest {
         }
     }
 
+    @Test
+    public void holdingSiteTest() throws SQLException {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .metricsEnabled( true )
+                .callSiteSampling( 1 )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder ) ) {
+            dataSource.getConnection().close();
+
+            // the site is the first frame outside of the pool
+            Map<String, Long> sites = dataSource.getMetrics().longestHoldingSites();
+            Assert.assertEquals( 1, sites.size() );
+            Assert.assertTrue( sites.keySet().iterator().next(), sites.keySet().iterator().next().startsWith( BasicTest.class.getName() + ".holdingSiteTest" ) );
+        }
+    }
+
     @Test
     public void basicConcurrentTest() throws SQLException {
         DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
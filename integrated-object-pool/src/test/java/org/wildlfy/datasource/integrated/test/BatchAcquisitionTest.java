@@ -0,0 +1,84 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+import org.wildfly.datasource.integrated.WildFlyDataSourceIntegrated;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MIN;
+import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class BatchAcquisitionTest {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:test";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    private static DataSourceConfigurationBuilder configurationBuilder() {
+        return new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .connectionPoolConfiguration( cp -> cp
+                        .minSize( 1 )
+                        .maxSize( 2 )
+                        .preFillMode( MIN )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+    }
+
+    @Test
+    public void batchTest() throws SQLException {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder() ) ) {
+            List<Connection> connections = ( (WildFlyDataSourceIntegrated) dataSource ).getConnections( 2, Duration.ofSeconds( 1 ) );
+            Assert.assertEquals( 2, connections.size() );
+            Assert.assertNotSame( connections.get( 0 ), connections.get( 1 ) );
+            for ( Connection connection : connections ) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void invalidBatchSizeTest() throws SQLException {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder() ) ) {
+            try {
+                ( (WildFlyDataSourceIntegrated) dataSource ).getConnections( 0, Duration.ofSeconds( 1 ) );
+                Assert.fail( "SQLException was expected" );
+            } catch ( SQLException e ) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void interruptedBatchTest() throws SQLException {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder() ) ) {
+            WildFlyDataSourceIntegrated integrated = (WildFlyDataSourceIntegrated) dataSource;
+
+            // the pre-filled connection is reserved, and the wait for the creation of the second one is interrupted
+            Thread.currentThread().interrupt();
+            try {
+                integrated.getConnections( 2, Duration.ofSeconds( 1 ) );
+                Assert.fail( "SQLException was expected" );
+            } catch ( SQLException e ) {
+                Assert.assertTrue( "Interrupt flag not restored", Thread.interrupted() );
+            }
+
+            // the reserved connection must have been released
+            List<Connection> connections = integrated.getConnections( 2, Duration.ofSeconds( 1 ) );
+            for ( Connection connection : connections ) {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MAX;
+import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class ConnectionResetTest {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:reset";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    private static DataSourceConfigurationBuilder configurationBuilder() {
+        // a single connection, that keeps the in-memory database
+        return new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .preFillMode( MAX )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                                .autoCommit( true )
+                        )
+                );
+    }
+
+    @Test
+    public void autoCommitResetTest() throws SQLException {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder() ) ) {
+            try ( Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement() ) {
+                statement.execute( "CREATE TABLE reset_test ( id INT )" );
+            }
+
+            try ( Connection connection = dataSource.getConnection() ) {
+                connection.setAutoCommit( false );
+                try ( Statement statement = connection.createStatement() ) {
+                    statement.execute( "INSERT INTO reset_test VALUES ( 1 )" );
+                }
+                // closed without commit
+            }
+
+            try ( Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement() ) {
+                Assert.assertTrue( "Autocommit not restored", connection.getAutoCommit() );
+                try ( ResultSet resultSet = statement.executeQuery( "SELECT COUNT(*) FROM reset_test" ) ) {
+                    Assert.assertTrue( resultSet.next() );
+                    Assert.assertEquals( "Pending work committed on reset", 0, resultSet.getInt( 1 ) );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void closedConnectionTest() throws SQLException {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder() ) ) {
+            Connection connection = dataSource.getConnection();
+            connection.close();
+            try {
+                connection.setReadOnly( true );
+                Assert.fail( "SQLException was expected" );
+            } catch ( SQLException e ) {
+                // expected
+            }
+
+            // the attribute must not leak into the next use of the connection
+            try ( Connection other = dataSource.getConnection() ) {
+                Assert.assertFalse( other.isReadOnly() );
+            }
+        }
+    }
+}
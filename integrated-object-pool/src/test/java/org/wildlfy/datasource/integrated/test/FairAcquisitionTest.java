@@ -0,0 +1,103 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MAX;
+import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class FairAcquisitionTest {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:test";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    private static DataSourceConfigurationBuilder configurationBuilder(Duration acquisitionTimeout) {
+        return new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .metricsEnabled( true )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .preFillMode( MAX )
+                        .fairAcquisition( true )
+                        .acquisitionTimeout( acquisitionTimeout )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+    }
+
+    private static void awaitWaiters(WildFlyDataSource dataSource, long expected) throws InterruptedException {
+        for ( int i = 0; i < 50 && dataSource.getMetrics().awaitingCount() < expected; i++ ) {
+            Thread.sleep( 100 );
+        }
+        Assert.assertEquals( expected, dataSource.getMetrics().awaitingCount() );
+    }
+
+    private static Thread acquire(WildFlyDataSource dataSource, List<String> order, String name) {
+        Thread thread = new Thread( () -> {
+            try ( Connection connection = dataSource.getConnection() ) {
+                order.add( name );
+            } catch ( SQLException e ) {
+                order.add( name + " failed: " + e.getMessage() );
+            }
+        }, name );
+        thread.start();
+        return thread;
+    }
+
+    @Test
+    public void handOffOrderTest() throws Exception {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder( Duration.ofSeconds( 5 ) ) ) ) {
+            List<String> order = new CopyOnWriteArrayList<>();
+            Connection held = dataSource.getConnection();
+
+            Thread first = acquire( dataSource, order, "first" );
+            awaitWaiters( dataSource, 1 );
+            Thread second = acquire( dataSource, order, "second" );
+            awaitWaiters( dataSource, 2 );
+
+            // the connection is handed to the longest waiting thread
+            held.close();
+            first.join( 5000 );
+            second.join( 5000 );
+
+            Assert.assertEquals( "first", order.get( 0 ) );
+            Assert.assertEquals( "second", order.get( 1 ) );
+        }
+    }
+
+    @Test
+    public void waiterTimeoutTest() throws Exception {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder( Duration.ofMillis( 200 ) ) ) ) {
+            List<String> order = new CopyOnWriteArrayList<>();
+
+            // the creation of the connection takes longer than the acquisition timeout
+            for ( int i = 0; i < 50 && dataSource.getMetrics().availableCount() == 0; i++ ) {
+                Thread.sleep( 100 );
+            }
+            Connection held = dataSource.getConnection();
+
+            acquire( dataSource, order, "waiter" ).join( 5000 );
+            Assert.assertTrue( "Acquisition did not time out", order.get( 0 ).startsWith( "waiter failed" ) );
+            Assert.assertEquals( 0, dataSource.getMetrics().awaitingCount() );
+
+            // the connection must not be handed to the waiter that gave up
+            held.close();
+            try ( Connection connection = dataSource.getConnection() ) {
+                Assert.assertFalse( connection.isClosed() );
+            }
+        }
+    }
+}
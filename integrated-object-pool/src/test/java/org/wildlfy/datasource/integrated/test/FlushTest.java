@@ -0,0 +1,109 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.FlushMode.ALL;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.FlushMode.FAILING;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.FlushMode.IDLE;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MAX;
+import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class FlushTest {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:test";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    private static DataSourceConfigurationBuilder configurationBuilder(ConnectionPoolConfiguration.FlushMode flushMode) {
+        // every exception is fatal
+        return new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .metricsEnabled( true )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 3 )
+                        .preFillMode( MAX )
+                        .flushMode( flushMode )
+                        .exceptionSorter( exception -> true )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+    }
+
+    private static void fail(Connection connection) {
+        try {
+            connection.prepareStatement( "SELECT * FROM flush_test_unknown_table" );
+            Assert.fail( "SQLException was expected" );
+        } catch ( SQLException e ) {
+            // expected
+        }
+    }
+
+    private static void awaitDestroyed(WildFlyDataSource dataSource, long expected) throws InterruptedException {
+        for ( int i = 0; i < 50 && dataSource.getMetrics().destroyedCount() < expected; i++ ) {
+            Thread.sleep( 100 );
+        }
+        Assert.assertEquals( expected, dataSource.getMetrics().destroyedCount() );
+    }
+
+    @Test
+    public void failingTest() throws Exception {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder( FAILING ) ) ) {
+            Connection failing = dataSource.getConnection();
+            Connection other = dataSource.getConnection();
+            fail( failing );
+            failing.close();
+            other.close();
+
+            // only the failing connection is destroyed
+            awaitDestroyed( dataSource, 1 );
+        }
+    }
+
+    @Test
+    public void idleTest() throws Exception {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder( IDLE ) ) ) {
+            Connection failing = dataSource.getConnection();
+            Connection other = dataSource.getConnection();
+            fail( failing );
+
+            // the idle connection is destroyed right away, the failing one when returned
+            awaitDestroyed( dataSource, 1 );
+            failing.close();
+            other.close();
+            awaitDestroyed( dataSource, 2 );
+        }
+    }
+
+    @Test
+    public void allTest() throws Exception {
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( configurationBuilder( ALL ) ) ) {
+            Connection failing = dataSource.getConnection();
+            Connection other = dataSource.getConnection();
+            Connection physical = other.unwrap( Connection.class );
+            fail( failing );
+
+            // the connections in use are destroyed when returned
+            awaitDestroyed( dataSource, 1 );
+            failing.close();
+            other.close();
+            awaitDestroyed( dataSource, 3 );
+            Assert.assertTrue( physical.isClosed() );
+
+            // replacements are created for the flushed connections
+            try ( Connection connection = dataSource.getConnection() ) {
+                Assert.assertFalse( connection.isClosed() );
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+import org.wildfly.datasource.api.tx.TransactionIntegration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.wildfly.datasource.api.configuration.ConnectionFactoryConfiguration.TransactionIsolation.SERIALIZABLE;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MAX;
+import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class LazyAcquisitionTest {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:test";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    @Test
+    public void transactionTest() throws Exception {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .metricsEnabled( true )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .preFillMode( MAX )
+                        .lazyAcquisition( true )
+                        .transactionIntegration( new SingleConnectionTransaction() )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                                .transactionIsolation( SERIALIZABLE )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder ) ) {
+            Connection connection = dataSource.getConnection();
+
+            // the connection associated with the transaction is not yet bound
+            Assert.assertSame( connection, dataSource.getConnectionAsync().toCompletableFuture().get( 5, TimeUnit.SECONDS ) );
+
+            // answered without binding
+            Assert.assertEquals( Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation() );
+            connection.setAutoCommit( false );
+            connection.commit();
+            connection.rollback();
+            Assert.assertEquals( 0, dataSource.getMetrics().activeCount() );
+
+            connection.close();
+            Assert.assertEquals( 0, dataSource.getMetrics().activeCount() );
+        }
+    }
+
+    @Test
+    public void metaDataTest() throws Exception {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .metricsEnabled( true )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .lazyAcquisition( true )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder );
+              Connection connection = dataSource.getConnection() ) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Assert.assertSame( connection, metaData.getConnection() );
+            Assert.assertEquals( 0, dataSource.getMetrics().activeCount() );
+
+            // bound when the metadata of the physical connection is needed
+            Assert.assertEquals( "H2", metaData.getDatabaseProductName() );
+            Assert.assertEquals( 1, dataSource.getMetrics().activeCount() );
+        }
+    }
+
+    // --- //
+
+    private static class SingleConnectionTransaction implements TransactionIntegration {
+
+        private Connection connection;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection;
+        }
+
+        @Override
+        public void associate(Connection connection) throws SQLException {
+            this.connection = connection;
+        }
+
+        @Override
+        public boolean disassociate(Connection connection) throws SQLException {
+            this.connection = null;
+            return true;
+        }
+    }
+}
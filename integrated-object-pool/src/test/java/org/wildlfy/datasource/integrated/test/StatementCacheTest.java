@@ -0,0 +1,92 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.api.WildFlyDataSource;
+import org.wildfly.datasource.api.configuration.DataSourceConfigurationBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class StatementCacheTest {
+
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:test";
+    private static final String H2_DRIVER_CLASS = "org.h2.Driver";
+
+    @Test
+    public void clearParametersTest() throws SQLException {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                                .preparedStatementCacheSize( 4 )
+                                .sqlMetadataCacheSize( 4 )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder );
+              Connection connection = dataSource.getConnection() ) {
+            try ( PreparedStatement statement = connection.prepareStatement( "SELECT ?" ) ) {
+                statement.setInt( 1, 42 );
+                try ( ResultSet resultSet = statement.executeQuery() ) {
+                    Assert.assertTrue( resultSet.next() );
+                    Assert.assertEquals( 42, resultSet.getInt( 1 ) );
+                }
+            }
+
+            // the cached statement must not keep the parameters of the previous use
+            try ( PreparedStatement statement = connection.prepareStatement( "SELECT ?" ) ) {
+                statement.executeQuery();
+                Assert.fail( "SQLException was expected" );
+            } catch ( SQLException e ) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void openResultSetTest() throws SQLException {
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                                .preparedStatementCacheSize( 4 )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder );
+              Connection connection = dataSource.getConnection() ) {
+            PreparedStatement statement = connection.prepareStatement( "SELECT 1" );
+            PreparedStatement physical = statement.unwrap( PreparedStatement.class );
+            ResultSet resultSet = statement.executeQuery();
+
+            // the cached statement is not exposed through the result set
+            Assert.assertSame( statement, resultSet.getStatement() );
+
+            // closed without closing the result set
+            statement.close();
+            Assert.assertTrue( "Result set left open", resultSet.isClosed() );
+
+            // the result of execute() is never retrieved
+            statement = connection.prepareStatement( "SELECT 1" );
+            Assert.assertSame( "Statement not reused", physical, statement.unwrap( PreparedStatement.class ) );
+            Assert.assertTrue( statement.execute() );
+            statement.close();
+            ResultSet pending = physical.getResultSet();
+            Assert.assertTrue( "Result set left open", pending == null || pending.isClosed() );
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.wildlfy.datasource.integrated.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.datasource.integrated.util.TimingWheel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
+ */
+public class TimingWheelTest {
+
+    private static final int WHEEL_SIZE = 8;
+    private static final long TICK_MS = 10;
+
+    private static class CountingTimeout extends TimingWheel.Timeout {
+
+        private final AtomicInteger expirations = new AtomicInteger();
+
+        @Override
+        protected void expire(long now) {
+            expirations.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void deadlineTest() {
+        TimingWheel timingWheel = new TimingWheel( WHEEL_SIZE, TICK_MS, MILLISECONDS );
+        CountingTimeout timeout = new CountingTimeout();
+        long start = nanoTime();
+
+        timingWheel.schedule( timeout, start + MILLISECONDS.toNanos( 50 ) );
+
+        timingWheel.advance( start + MILLISECONDS.toNanos( 40 ) );
+        Assert.assertEquals( 0, timeout.expirations.get() );
+
+        timingWheel.advance( start + MILLISECONDS.toNanos( 50 ) );
+        Assert.assertEquals( 1, timeout.expirations.get() );
+
+        // expired timeouts are removed from the wheel
+        timingWheel.advance( start + MILLISECONDS.toNanos( 200 ) );
+        Assert.assertEquals( 1, timeout.expirations.get() );
+    }
+
+    @Test
+    public void beyondSpanTest() {
+        TimingWheel timingWheel = new TimingWheel( WHEEL_SIZE, TICK_MS, MILLISECONDS );
+        CountingTimeout timeout = new CountingTimeout();
+        long start = nanoTime();
+
+        // a few turns of the wheel
+        long deadline = start + MILLISECONDS.toNanos( 3 * WHEEL_SIZE * TICK_MS + 5 );
+        timingWheel.schedule( timeout, deadline );
+
+        for ( long now = start; now < deadline; now += MILLISECONDS.toNanos( TICK_MS ) ) {
+            timingWheel.advance( now );
+            Assert.assertEquals( 0, timeout.expirations.get() );
+        }
+
+        timingWheel.advance( deadline );
+        Assert.assertEquals( 1, timeout.expirations.get() );
+    }
+
+    @Test
+    public void pastDeadlineTest() {
+        TimingWheel timingWheel = new TimingWheel( WHEEL_SIZE, TICK_MS, MILLISECONDS );
+        CountingTimeout timeout = new CountingTimeout();
+        long start = nanoTime();
+
+        timingWheel.advance( start + MILLISECONDS.toNanos( 100 ) );
+        timingWheel.schedule( timeout, start );
+
+        // expired on the next advance
+        timingWheel.advance( start + MILLISECONDS.toNanos( 100 + TICK_MS ) );
+        Assert.assertEquals( 1, timeout.expirations.get() );
+    }
+
+    @Test
+    public void rescheduleTest() {
+        TimingWheel timingWheel = new TimingWheel( WHEEL_SIZE, TICK_MS, MILLISECONDS );
+        long period = MILLISECONDS.toNanos( 30 );
+        AtomicInteger expirations = new AtomicInteger();
+        long start = nanoTime();
+
+        // scheduled again from expire, outside the lock of the wheel
+        timingWheel.schedule( new TimingWheel.Timeout() {
+            @Override
+            protected void expire(long now) {
+                expirations.incrementAndGet();
+                timingWheel.schedule( this, getDeadline() + period );
+            }
+        }, start + period );
+
+        for ( int i = 1; i <= 10; i++ ) {
+            timingWheel.advance( start + i * period );
+            Assert.assertEquals( i, expirations.get() );
+        }
+    }
+}
@@ -12,8 +12,10 @@ import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MAX;
 import static org.wildfly.datasource.api.configuration.ConnectionPoolConfiguration.PreFillMode.MIN;
 import static org.wildfly.datasource.api.configuration.DataSourceConfiguration.DataSourceImplementation.INTEGRATED;
 
@@ -73,6 +75,42 @@ public class ValidationTest {
 
     }
 
+    @Test
+    public void idleValidationTest() throws Exception {
+        AtomicInteger validations = new AtomicInteger();
+
+        DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()
+                .dataSourceImplementation( INTEGRATED )
+                .metricsEnabled( true )
+                .connectionPoolConfiguration( cp -> cp
+                        .maxSize( 1 )
+                        .idleValidationTimeout( Duration.ofMillis( 100 ) )
+                        // the first connection is not valid
+                        .idleValidator( connection -> validations.incrementAndGet() > 1 )
+                        .preFillMode( MAX )
+                        .connectionFactoryConfiguration( cf -> cf
+                                .driverClassName( H2_DRIVER_CLASS )
+                                .jdbcUrl( H2_JDBC_URL )
+                        )
+                );
+
+        try ( WildFlyDataSource dataSource = WildFlyDataSource.from( dataSourceConfigurationBuilder ) ) {
+            // the connection is idle once created
+            for ( int i = 0; i < 50 && dataSource.getMetrics().availableCount() == 0; i++ ) {
+                Thread.sleep( 100 );
+            }
+            Thread.sleep( 200 );
+
+            try ( Connection connection = dataSource.getConnection() ) {
+                Assert.assertFalse( connection.isClosed() );
+            }
+
+            // the replacement was not idle, so it was not validated
+            Assert.assertEquals( 1, validations.get() );
+            Assert.assertEquals( 1, dataSource.getMetrics().destroyedCount() );
+        }
+    }
+
     @Test
     public void basicLeakTest() throws SQLException {
         DataSourceConfigurationBuilder dataSourceConfigurationBuilder = new DataSourceConfigurationBuilder()